@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a named Snackbar style, from which the snackbarbuilder-compiler annotation processor generates a factory
+ * method returning a SnackbarBuilder with the style applied. The factory methods for all of the styles declared on a
+ * type are generated into a class named after it with a Snackbars suffix, e.g. AppStylesSnackbars.error(view). The
+ * values are compiled in as constants and the generated builders skip loading the snackbarBuilderStyle theme
+ * attributes, so no attributes are resolved at runtime. To declare more than one style on a type, use
+ * SnackbarStyle.List.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface SnackbarStyle {
+
+  /**
+   * The name of the style, which is used as the name of the generated factory method, so it must be a valid Java
+   * method name.
+   *
+   * @return The style name.
+   */
+  String name();
+
+  /**
+   * The background colour, as an ARGB colour int. 0 keeps the default background.
+   *
+   * @return The background colour.
+   */
+  int background() default 0;
+
+  /**
+   * The message text colour, as an ARGB colour int. 0 keeps the default colour.
+   *
+   * @return The message text colour.
+   */
+  int messageTextColor() default 0;
+
+  /**
+   * The action text colour, as an ARGB colour int. 0 keeps the default colour.
+   *
+   * @return The action text colour.
+   */
+  int actionTextColor() default 0;
+
+  /**
+   * The drawable resource of an icon to show next to the message. 0 shows no icon.
+   *
+   * @return The icon drawable resource.
+   */
+  int icon() default 0;
+
+  /**
+   * The dimension resource of the margin between the icon and the message. 0 leaves no margin.
+   *
+   * @return The icon margin dimension resource.
+   */
+  int iconMarginRes() default 0;
+
+  /**
+   * The duration to show the Snackbar for, either one of the Snackbar lengths or a custom duration in milliseconds.
+   * Defaults to Snackbar.LENGTH_LONG.
+   *
+   * @return The duration.
+   */
+  int duration() default 0;
+
+  /**
+   * Whether the action text is displayed in all uppercase.
+   *
+   * @return Whether the action is all caps.
+   */
+  boolean actionAllCaps() default true;
+
+  /**
+   * Declares several named Snackbar styles on the same type.
+   */
+  @Documented
+  @Retention(RetentionPolicy.SOURCE)
+  @Target(ElementType.TYPE)
+  @interface List {
+
+    /**
+     * The styles to declare.
+     *
+     * @return The styles.
+     */
+    SnackbarStyle[] value();
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates factory classes for the Snackbar styles declared through SnackbarStyle. For each annotated type, a class
+ * with the type's name and a Snackbars suffix is generated in the same package, containing a static factory method for
+ * each style. The methods return SnackbarBuilders created through SnackbarBuilder.withoutTheme(), with the style's
+ * values set as constants.
+ */
+public final class SnackbarStyleProcessor extends AbstractProcessor {
+
+  private static final String GENERATED_SUFFIX = "Snackbars";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    Set<String> types = new LinkedHashSet<>();
+    types.add(SnackbarStyle.class.getCanonicalName());
+    types.add(SnackbarStyle.List.class.getCanonicalName());
+    return types;
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Map<TypeElement, List<SnackbarStyle>> stylesByType = new LinkedHashMap<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(SnackbarStyle.class)) {
+      getStyles(stylesByType, (TypeElement) element).add(element.getAnnotation(SnackbarStyle.class));
+    }
+    for (Element element : roundEnv.getElementsAnnotatedWith(SnackbarStyle.List.class)) {
+      getStyles(stylesByType, (TypeElement) element)
+          .addAll(Arrays.asList(element.getAnnotation(SnackbarStyle.List.class).value()));
+    }
+    for (Map.Entry<TypeElement, List<SnackbarStyle>> entry : stylesByType.entrySet()) {
+      if (isValid(entry.getKey(), entry.getValue())) {
+        generate(entry.getKey(), entry.getValue());
+      }
+    }
+    return true;
+  }
+
+  private static List<SnackbarStyle> getStyles(Map<TypeElement, List<SnackbarStyle>> stylesByType,
+                                               TypeElement type) {
+    List<SnackbarStyle> styles = stylesByType.get(type);
+    if (styles == null) {
+      styles = new ArrayList<>();
+      stylesByType.put(type, styles);
+    }
+    return styles;
+  }
+
+  private boolean isValid(TypeElement type, List<SnackbarStyle> styles) {
+    Set<String> names = new HashSet<>();
+    for (SnackbarStyle style : styles) {
+      if (!SourceVersion.isIdentifier(style.name()) || SourceVersion.isKeyword(style.name())) {
+        error(type, "SnackbarStyle name '" + style.name() + "' is not a valid method name");
+        return false;
+      }
+      if (!names.add(style.name())) {
+        error(type, "SnackbarStyle name '" + style.name() + "' is declared more than once");
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void generate(TypeElement type, List<SnackbarStyle> styles) {
+    String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    String className = getGeneratedClassName(type, packageName);
+    String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+      Writer writer = file.openWriter();
+      try {
+        writer.write(new SnackbarStyleWriter(packageName, className, type.getQualifiedName().toString())
+            .write(styles));
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error(type, "Unable to generate " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private static String getGeneratedClassName(TypeElement type, String packageName) {
+    String qualifiedName = type.getQualifiedName().toString();
+    String nestedName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+    return nestedName.replace('.', '_') + GENERATED_SUFFIX;
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;
+
+import java.util.List;
+
+/**
+ * Writes the source of a generated Snackbar style factory class.
+ */
+final class SnackbarStyleWriter {
+
+  private static final String INDENT = "  ";
+
+  private final String packageName;
+  private final String className;
+  private final String sourceName;
+  private final StringBuilder source = new StringBuilder();
+
+  SnackbarStyleWriter(String packageName, String className, String sourceName) {
+    this.packageName = packageName;
+    this.className = className;
+    this.sourceName = sourceName;
+  }
+
+  String write(List<SnackbarStyle> styles) {
+    if (!packageName.isEmpty()) {
+      line(0, "package " + packageName + ";");
+      line(0, "");
+    }
+    line(0, "import android.app.Activity;");
+    line(0, "import android.view.View;");
+    line(0, "");
+    line(0, "import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;");
+    line(0, "import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;");
+    line(0, "");
+    line(0, "/**");
+    line(0, " * Snackbar styles declared on " + sourceName + ". Generated by SnackbarStyleProcessor, do not edit.");
+    line(0, " */");
+    line(0, "public final class " + className + " {");
+    line(0, "");
+    line(1, "private " + className + "() {");
+    line(1, "}");
+    for (SnackbarStyle style : styles) {
+      writeFactoryMethod(style, "View parentView", "parentView");
+      writeFactoryMethod(style, "Activity activity, SnackbarParentFinder parentFinder", "activity, parentFinder");
+    }
+    line(0, "");
+    line(0, "}");
+    return source.toString();
+  }
+
+  private void writeFactoryMethod(SnackbarStyle style, String parameters, String arguments) {
+    line(0, "");
+    line(1, "public static SnackbarBuilder " + style.name() + "(" + parameters + ") {");
+    line(2, "return SnackbarBuilder.withoutTheme(" + arguments + ")");
+    if (style.background() != 0) {
+      line(4, ".backgroundColor(" + hex(style.background()) + ")");
+    }
+    if (style.messageTextColor() != 0) {
+      line(4, ".messageTextColor(" + hex(style.messageTextColor()) + ")");
+    }
+    if (style.actionTextColor() != 0) {
+      line(4, ".actionTextColor(" + hex(style.actionTextColor()) + ")");
+    }
+    if (style.icon() != 0) {
+      line(4, ".icon(" + hex(style.icon()) + ")");
+    }
+    if (style.iconMarginRes() != 0) {
+      line(4, ".iconMarginRes(" + hex(style.iconMarginRes()) + ")");
+    }
+    line(4, ".duration(" + style.duration() + ")");
+    line(4, ".actionAllCaps(" + style.actionAllCaps() + ");");
+    line(1, "}");
+  }
+
+  private void line(int indent, String text) {
+    for (int i = 0; i < indent; i++) {
+      source.append(INDENT);
+    }
+    source.append(text).append('\n');
+  }
+
+  private static String hex(int value) {
+    return "0x" + String.format("%08X", value);
+  }
+
+}
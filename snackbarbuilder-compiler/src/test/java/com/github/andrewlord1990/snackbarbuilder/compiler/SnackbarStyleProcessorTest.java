@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.compiler;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the processor through javac on sample sources. The Android and library classes used by the generated code are
+ * stubbed, so that the generated code is compiled along with the samples.
+ */
+public class SnackbarStyleProcessorTest {
+
+  private static final String[] STUBS = {
+      "package android.view;\n"
+          + "public class View {}",
+      "package android.app;\n"
+          + "public class Activity {}",
+      "package com.github.andrewlord1990.snackbarbuilder.parent;\n"
+          + "public interface SnackbarParentFinder {}",
+      "package com.github.andrewlord1990.snackbarbuilder;\n"
+          + "import android.app.Activity;\n"
+          + "import android.view.View;\n"
+          + "import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;\n"
+          + "public class SnackbarBuilder {\n"
+          + "  public static SnackbarBuilder withoutTheme(View view) { return new SnackbarBuilder(); }\n"
+          + "  public static SnackbarBuilder withoutTheme(Activity activity, SnackbarParentFinder finder) {\n"
+          + "    return new SnackbarBuilder();\n"
+          + "  }\n"
+          + "  public SnackbarBuilder backgroundColor(int color) { return this; }\n"
+          + "  public SnackbarBuilder messageTextColor(int color) { return this; }\n"
+          + "  public SnackbarBuilder actionTextColor(int color) { return this; }\n"
+          + "  public SnackbarBuilder icon(int icon) { return this; }\n"
+          + "  public SnackbarBuilder iconMarginRes(int iconMargin) { return this; }\n"
+          + "  public SnackbarBuilder duration(int duration) { return this; }\n"
+          + "  public SnackbarBuilder actionAllCaps(boolean allCaps) { return this; }\n"
+          + "}"
+  };
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File generatedDirectory;
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @Before
+  public void before() throws IOException {
+    generatedDirectory = temporaryFolder.newFolder("generated");
+    diagnostics = new DiagnosticCollector<>();
+  }
+
+  @Test
+  public void givenSingleStyle_whenProcessed_thenFactoryGeneratedAndCompiled() throws IOException {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "@SnackbarStyle(name = \"error\", background = 0xFFB00020, icon = 0x7f020001, duration = -2,\n"
+        + "    actionAllCaps = false)\n"
+        + "public class AppStyles {}");
+
+    assertTrue(getErrors().toString(), compiled);
+    String generated = readGenerated("com/example/AppStylesSnackbars.java");
+    assertTrue(generated.contains("package com.example;"));
+    assertTrue(generated.contains("public final class AppStylesSnackbars {"));
+    assertTrue(generated.contains("public static SnackbarBuilder error(View parentView) {"));
+    assertTrue(generated.contains(
+        "public static SnackbarBuilder error(Activity activity, SnackbarParentFinder parentFinder) {"));
+    assertTrue(generated.contains(".backgroundColor(0xFFB00020)"));
+    assertTrue(generated.contains(".icon(0x7F020001)"));
+    assertTrue(generated.contains(".duration(-2)"));
+    assertTrue(generated.contains(".actionAllCaps(false);"));
+    assertFalse(generated.contains(".messageTextColor("));
+    assertFalse(generated.contains(".iconMarginRes("));
+  }
+
+  @Test
+  public void givenStyleList_whenProcessed_thenFactoryForEachStyle() throws IOException {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "@SnackbarStyle.List({\n"
+        + "    @SnackbarStyle(name = \"error\", background = 0xFFB00020),\n"
+        + "    @SnackbarStyle(name = \"success\", messageTextColor = 0xFF00C853)\n"
+        + "})\n"
+        + "public class AppStyles {}");
+
+    assertTrue(getErrors().toString(), compiled);
+    String generated = readGenerated("com/example/AppStylesSnackbars.java");
+    assertTrue(generated.contains("public static SnackbarBuilder error(View parentView) {"));
+    assertTrue(generated.contains("public static SnackbarBuilder success(View parentView) {"));
+    assertTrue(generated.contains(".messageTextColor(0xFF00C853)"));
+  }
+
+  @Test
+  public void givenNestedType_whenProcessed_thenGeneratedClassNamedAfterEnclosingTypes() throws IOException {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "public class Outer {\n"
+        + "  @SnackbarStyle(name = \"info\")\n"
+        + "  public static class Styles {}\n"
+        + "}");
+
+    assertTrue(getErrors().toString(), compiled);
+    assertTrue(new File(generatedDirectory, "com/example/Outer_StylesSnackbars.java").exists());
+  }
+
+  @Test
+  public void givenNameNotIdentifier_whenProcessed_thenError() {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "@SnackbarStyle(name = \"not-valid\")\n"
+        + "public class AppStyles {}");
+
+    assertFalse(compiled);
+    assertEquals(Collections.singletonList("SnackbarStyle name 'not-valid' is not a valid method name"),
+        getErrors());
+    assertFalse(new File(generatedDirectory, "com/example/AppStylesSnackbars.java").exists());
+  }
+
+  @Test
+  public void givenNameKeyword_whenProcessed_thenError() {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "@SnackbarStyle(name = \"class\")\n"
+        + "public class AppStyles {}");
+
+    assertFalse(compiled);
+    assertEquals(Collections.singletonList("SnackbarStyle name 'class' is not a valid method name"), getErrors());
+  }
+
+  @Test
+  public void givenDuplicateName_whenProcessed_thenError() {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "@SnackbarStyle.List({\n"
+        + "    @SnackbarStyle(name = \"error\"),\n"
+        + "    @SnackbarStyle(name = \"error\")\n"
+        + "})\n"
+        + "public class AppStyles {}");
+
+    assertFalse(compiled);
+    assertEquals(Collections.singletonList("SnackbarStyle name 'error' is declared more than once"), getErrors());
+  }
+
+  @Test
+  public void givenAnnotationOnMethod_whenCompiled_thenRejected() {
+    boolean compiled = compile("package com.example;\n"
+        + "import com.github.andrewlord1990.snackbarbuilder.annotation.SnackbarStyle;\n"
+        + "public class AppStyles {\n"
+        + "  @SnackbarStyle(name = \"error\")\n"
+        + "  void error() {}\n"
+        + "}");
+
+    assertFalse(compiled);
+    assertEquals(1, getErrors().size());
+    assertFalse(new File(generatedDirectory, "com/example/AppStylesSnackbars.java").exists());
+  }
+
+  private boolean compile(String source) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+        StandardCharsets.UTF_8);
+    List<JavaFileObject> sources = new ArrayList<>();
+    for (String stub : STUBS) {
+      sources.add(new SourceFile(stub));
+    }
+    sources.add(new SourceFile(source));
+    List<String> options = Arrays.asList(
+        "-classpath", System.getProperty("java.class.path"),
+        "-d", temporaryFolder.getRoot().getPath(),
+        "-s", generatedDirectory.getPath());
+    JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+    task.setProcessors(Collections.singletonList(new SnackbarStyleProcessor()));
+    return task.call();
+  }
+
+  private List<String> getErrors() {
+    List<String> errors = new ArrayList<>();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.add(diagnostic.getMessage(Locale.ROOT));
+      }
+    }
+    return errors;
+  }
+
+  private String readGenerated(String path) throws IOException {
+    return new String(Files.readAllBytes(new File(generatedDirectory, path).toPath()), StandardCharsets.UTF_8);
+  }
+
+  private static final class SourceFile extends SimpleJavaFileObject {
+
+    private final String source;
+
+    SourceFile(String source) {
+      super(URI.create("string:///" + getPath(source)), Kind.SOURCE);
+      this.source = source;
+    }
+
+    private static String getPath(String source) {
+      String packageName = source.substring("package ".length(), source.indexOf(';'));
+      int classIndex = source.indexOf("class ");
+      int interfaceIndex = source.indexOf("interface ");
+      int nameIndex = classIndex >= 0 && (interfaceIndex < 0 || classIndex < interfaceIndex)
+          ? classIndex + "class ".length() : interfaceIndex + "interface ".length();
+      String name = source.substring(nameIndex, source.indexOf(' ', nameIndex));
+      return packageName.replace('.', '/') + "/" + name + ".java";
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return source;
+    }
+  }
+
+}
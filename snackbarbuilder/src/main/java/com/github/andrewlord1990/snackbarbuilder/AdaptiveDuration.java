@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.os.SystemClock;
+
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.google.android.material.snackbar.Snackbar;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Works out how long to show a Snackbar for from the length of its message, rather than using a fixed duration. Short
+ * messages are dismissed sooner, freeing up the Snackbar slot for any that are queued behind them. The reading speed
+ * used starts from a sensible default and is learnt from how quickly users press the action or swipe away Snackbars
+ * that use the adaptive duration, since by then they must have read the message. Use it through
+ * SnackbarBuilder.adaptiveDuration(), or by setting the duration to LENGTH_ADAPTIVE.
+ */
+public final class AdaptiveDuration {
+
+  /**
+   * The duration to set on a SnackbarBuilder to have it calculated from the message length, using the default
+   * AdaptiveDuration.
+   */
+  public static final int LENGTH_ADAPTIVE = -3;
+
+  private static final long DEFAULT_BASE_MILLIS = 1000;
+  private static final float DEFAULT_MILLIS_PER_CHARACTER = 50;
+  private static final long DEFAULT_MIN_DURATION_MILLIS = 1500;
+  private static final long DEFAULT_MAX_DURATION_MILLIS = 10000;
+  private static final float MIN_MILLIS_PER_CHARACTER = 15;
+  private static final float SAFETY_FACTOR = 1.5f;
+  private static final float LEARNING_RATE = 0.2f;
+
+  private static final AdaptiveDuration DEFAULT = new AdaptiveDuration(DEFAULT_BASE_MILLIS,
+      DEFAULT_MILLIS_PER_CHARACTER, DEFAULT_MIN_DURATION_MILLIS, DEFAULT_MAX_DURATION_MILLIS);
+
+  private final long baseMillis;
+  private final long minDurationMillis;
+  private final long maxDurationMillis;
+  private final float initialMillisPerCharacter;
+  private float millisPerCharacter;
+
+  /**
+   * Create an adaptive duration with its own reading speed, separate from the default one.
+   *
+   * @param baseMillis         Time to allow before starting to read, regardless of the message length.
+   * @param millisPerCharacter Initial time to allow for reading each character of the message.
+   * @param minDurationMillis  The shortest duration that will be used.
+   * @param maxDurationMillis  The longest duration that will be used.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public AdaptiveDuration(long baseMillis, float millisPerCharacter, long minDurationMillis,
+                          long maxDurationMillis) {
+    this.baseMillis = baseMillis;
+    this.initialMillisPerCharacter = millisPerCharacter;
+    this.millisPerCharacter = millisPerCharacter;
+    this.minDurationMillis = minDurationMillis;
+    this.maxDurationMillis = maxDurationMillis;
+  }
+
+  /**
+   * Get the adaptive duration used by SnackbarBuilders that have their duration set to LENGTH_ADAPTIVE.
+   *
+   * @return The default adaptive duration.
+   */
+  @NonNull
+  public static AdaptiveDuration getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Calculate how long to show a message for.
+   *
+   * @param messageLength The number of characters in the message.
+   * @return The duration in milliseconds.
+   */
+  public int computeDuration(int messageLength) {
+    long duration = baseMillis + (long) (messageLength * millisPerCharacter * SAFETY_FACTOR);
+    return (int) Math.max(minDurationMillis, Math.min(maxDurationMillis, duration));
+  }
+
+  /**
+   * Get the current estimate of the time it takes to read a character.
+   *
+   * @return The reading time per character in milliseconds.
+   */
+  public float getMillisPerCharacter() {
+    return millisPerCharacter;
+  }
+
+  /**
+   * Forget everything that has been learnt about reading speed, going back to the initial estimate.
+   */
+  public void reset() {
+    millisPerCharacter = initialMillisPerCharacter;
+  }
+
+  void recordReadingTime(int messageLength, long readingMillis) {
+    if (messageLength <= 0) {
+      return;
+    }
+    float observed = Math.max(MIN_MILLIS_PER_CHARACTER,
+        (float) (readingMillis - baseMillis) / messageLength);
+    millisPerCharacter += (observed - millisPerCharacter) * LEARNING_RATE;
+  }
+
+  Snackbar.Callback createLearningCallback(int messageLength) {
+    return new LearningCallback(this, messageLength);
+  }
+
+  private static final class LearningCallback extends SnackbarCallback {
+
+    private final AdaptiveDuration adaptiveDuration;
+    private final int messageLength;
+    private long shownAtMillis;
+
+    LearningCallback(AdaptiveDuration adaptiveDuration, int messageLength) {
+      this.adaptiveDuration = adaptiveDuration;
+      this.messageLength = messageLength;
+    }
+
+    @Override
+    public void onSnackbarShown(Snackbar snackbar) {
+      shownAtMillis = SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void onSnackbarActionPressed(Snackbar snackbar) {
+      learn();
+    }
+
+    @Override
+    public void onSnackbarSwiped(Snackbar snackbar) {
+      learn();
+    }
+
+    private void learn() {
+      if (shownAtMillis != 0) {
+        adaptiveDuration.recordReadingTime(messageLength, SystemClock.uptimeMillis() - shownAtMillis);
+      }
+    }
+  }
+
+}
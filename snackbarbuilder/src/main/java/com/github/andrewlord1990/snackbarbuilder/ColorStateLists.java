@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.res.ColorStateList;
+import android.graphics.PorterDuff;
+import android.os.Build;
+import android.util.SparseArray;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.annotation.ColorInt;
+import androidx.core.view.ViewCompat;
+
+/**
+ * Interns the single color ColorStateLists used for text and background colors, as TextView.setTextColor(int) creates
+ * a new one on every call. Apps tend to use a handful of colors, so the cache is small and is emptied if it ever fills up.
+ */
+final class ColorStateLists {
+
+  private static final int MAX_SIZE = 16;
+  private static final SparseArray<ColorStateList> CACHE = new SparseArray<>(MAX_SIZE);
+
+  private ColorStateLists() {
+    // Not to be instantiated
+  }
+
+  static ColorStateList valueOf(@ColorInt int color) {
+    synchronized (CACHE) {
+      ColorStateList colors = CACHE.get(color);
+      if (colors == null) {
+        if (CACHE.size() >= MAX_SIZE) {
+          CACHE.clear();
+        }
+        colors = ColorStateList.valueOf(color);
+        CACHE.put(color, colors);
+      }
+      return colors;
+    }
+  }
+
+  /**
+   * Set the text color of a view, unless it already has exactly that color.
+   */
+  static void setTextColor(TextView view, @ColorInt int color) {
+    if (hasColor(view.getTextColors(), color)) {
+      return;
+    }
+    view.setTextColor(valueOf(color));
+  }
+
+  /**
+   * Set the background color of a view by tinting its background from API 21, which keeps the shape of the background
+   * drawable, such as rounded corners, rather than replacing it with a new ColorDrawable. The background is mutated
+   * when tinted, so the state it shares with other instances of the drawable is not changed.
+   */
+  static void setBackgroundColor(View view, @ColorInt int color) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP || view.getBackground() == null) {
+      view.setBackgroundColor(color);
+      return;
+    }
+    if (hasColor(ViewCompat.getBackgroundTintList(view), color)) {
+      return;
+    }
+    ViewCompat.setBackgroundTintList(view, valueOf(color));
+    ViewCompat.setBackgroundTintMode(view, PorterDuff.Mode.SRC_IN);
+  }
+
+  static boolean hasColor(ColorStateList colors, @ColorInt int color) {
+    return colors != null && !colors.isStateful() && colors.getDefaultColor() == color;
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.Spannable;
+import android.text.SpannableStringBuilder;
+import android.widget.TextView;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives the countdowns of all visible Snackbars from a single Runnable on the main thread, which is scheduled for the
+ * next time any of them needs to change. Only the digits within each message are replaced, with the message view
+ * displaying the SpannableStringBuilder that is updated, rather than the message being built and set again.
+ */
+final class CountdownTicker {
+
+  static final String PLACEHOLDER = "%d";
+
+  private static final long SECOND_MILLIS = 1000;
+  private static final Spannable.Factory IDENTITY_SPANNABLE_FACTORY = new Spannable.Factory() {
+    @Override
+    public Spannable newSpannable(CharSequence source) {
+      return (Spannable) source;
+    }
+  };
+
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+  private static final List<Countdown> ACTIVE = new ArrayList<>();
+  private static final Runnable TICK_RUNNABLE = new Runnable() {
+    @Override
+    public void run() {
+      tick(SystemClock.uptimeMillis());
+    }
+  };
+
+  private CountdownTicker() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Replace the placeholder in the message view's text with the number of seconds in the duration, and create the
+   * countdown that updates it once the Snackbar is shown.
+   */
+  static Countdown attach(TextView messageView, long durationMillis) {
+    SpannableStringBuilder text = new SpannableStringBuilder(messageView.getText());
+    int start = text.toString().indexOf(PLACEHOLDER);
+    if (start < 0) {
+      throw new IllegalArgumentException("A countdown message must contain " + PLACEHOLDER);
+    }
+    Countdown countdown = new Countdown(text, start, durationMillis);
+    countdown.replaceDigits(start + PLACEHOLDER.length(), secondsRemaining(durationMillis));
+    messageView.setSpannableFactory(IDENTITY_SPANNABLE_FACTORY);
+    messageView.setText(text, TextView.BufferType.SPANNABLE);
+    return countdown;
+  }
+
+  static void start(Countdown countdown, long nowMillis) {
+    countdown.endAtMillis = nowMillis + countdown.durationMillis;
+    if (!ACTIVE.contains(countdown)) {
+      ACTIVE.add(countdown);
+    }
+    tick(nowMillis);
+  }
+
+  static void stop(Countdown countdown) {
+    ACTIVE.remove(countdown);
+    if (ACTIVE.isEmpty()) {
+      MAIN_HANDLER.removeCallbacks(TICK_RUNNABLE);
+    }
+  }
+
+  static int getActiveCount() {
+    return ACTIVE.size();
+  }
+
+  static void tick(long nowMillis) {
+    long nextTickMillis = Long.MAX_VALUE;
+    for (int i = 0, size = ACTIVE.size(); i < size; i++) {
+      nextTickMillis = Math.min(nextTickMillis, ACTIVE.get(i).update(nowMillis));
+    }
+    MAIN_HANDLER.removeCallbacks(TICK_RUNNABLE);
+    if (nextTickMillis != Long.MAX_VALUE) {
+      MAIN_HANDLER.postAtTime(TICK_RUNNABLE, nextTickMillis);
+    }
+  }
+
+  static int secondsRemaining(long remainingMillis) {
+    if (remainingMillis <= 0) {
+      return 0;
+    }
+    return (int) ((remainingMillis + SECOND_MILLIS - 1) / SECOND_MILLIS);
+  }
+
+  /**
+   * The countdown of a single Snackbar, which starts when it is shown and stops when it is dismissed.
+   */
+  static final class Countdown extends Snackbar.Callback {
+
+    // Large enough for any int
+    private final char[] digits = new char[10];
+    private final CharBuffer digitsBuffer = CharBuffer.wrap(digits);
+    final Editable text;
+    private final int digitsStart;
+    private int digitsEnd;
+    final long durationMillis;
+    long endAtMillis;
+    private int shownSeconds = -1;
+
+    Countdown(Editable text, int digitsStart, long durationMillis) {
+      this.text = text;
+      this.digitsStart = digitsStart;
+      this.digitsEnd = digitsStart;
+      this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public void onShown(Snackbar sb) {
+      start(this, SystemClock.uptimeMillis());
+    }
+
+    @Override
+    public void onDismissed(Snackbar transientBottomBar, int event) {
+      stop(this);
+    }
+
+    /**
+     * Update the digits if the number of seconds remaining has changed.
+     *
+     * @return The time the number of seconds next changes, or Long.MAX_VALUE once the countdown has finished.
+     */
+    long update(long nowMillis) {
+      int seconds = secondsRemaining(endAtMillis - nowMillis);
+      if (seconds != shownSeconds) {
+        replaceDigits(digitsEnd, seconds);
+      }
+      if (seconds == 0) {
+        return Long.MAX_VALUE;
+      }
+      return endAtMillis - (seconds - 1) * SECOND_MILLIS;
+    }
+
+    void replaceDigits(int end, int seconds) {
+      int length = 0;
+      int remaining = seconds;
+      do {
+        length++;
+        remaining /= 10;
+      } while (remaining > 0);
+      remaining = seconds;
+      for (int i = length - 1; i >= 0; i--) {
+        digits[i] = (char) ('0' + remaining % 10);
+        remaining /= 10;
+      }
+      text.replace(digitsStart, end, digitsBuffer, 0, length);
+      digitsEnd = digitsStart + length;
+      shownSeconds = seconds;
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows a Snackbar at the start of a frame, rather than part way through whatever work the current frame is doing.
+ * If that frame is already over budget, as the main thread was busy, showing is pushed back to the following frame,
+ * until the maximum deferral has passed.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+final class FrameAlignedShow implements Choreographer.FrameCallback {
+
+  static final long FRAME_BUDGET_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+  private final Snackbar snackbar;
+  private long maxDeferralNanos;
+  private long requestedAtNanos;
+  private boolean scheduled;
+
+  FrameAlignedShow(Snackbar snackbar) {
+    this.snackbar = snackbar;
+  }
+
+  void schedule(long maxDeferralMillis) {
+    maxDeferralNanos = TimeUnit.MILLISECONDS.toNanos(maxDeferralMillis);
+    if (!scheduled) {
+      scheduled = true;
+      requestedAtNanos = System.nanoTime();
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+  }
+
+  void cancel() {
+    if (scheduled) {
+      scheduled = false;
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+  }
+
+  boolean isScheduled() {
+    return scheduled;
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    long nowNanos = System.nanoTime();
+    if (shouldDefer(frameTimeNanos, nowNanos, requestedAtNanos, maxDeferralNanos)) {
+      Choreographer.getInstance().postFrameCallback(this);
+      return;
+    }
+    scheduled = false;
+    snackbar.show();
+  }
+
+  static boolean shouldDefer(long frameTimeNanos, long nowNanos, long requestedAtNanos, long maxDeferralNanos) {
+    return nowNanos - frameTimeNanos > FRAME_BUDGET_NANOS && nowNanos - requestedAtNanos < maxDeferralNanos;
+  }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import androidx.core.text.PrecomputedTextCompat;
+
+/**
+ * Remembers the text metrics of the most recently built Snackbar message view, so that the next message can be
+ * precomputed before its Snackbar exists.
+ */
+final class MessageTextMetrics {
+
+  private static volatile PrecomputedTextCompat.Params params;
+
+  private MessageTextMetrics() {
+    // Not to be instantiated
+  }
+
+  static PrecomputedTextCompat.Params get() {
+    return params;
+  }
+
+  static void set(PrecomputedTextCompat.Params params) {
+    MessageTextMetrics.params = params;
+  }
+
+}
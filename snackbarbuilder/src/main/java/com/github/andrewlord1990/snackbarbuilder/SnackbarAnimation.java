@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import androidx.core.app.ActivityManagerCompat;
+
+/**
+ * How Snackbars are animated in and out. On low-end devices the slide animation can drop frames, so Snackbars can
+ * instead fade, or appear and disappear without animating. Both of these draw the Snackbar into a hardware layer while
+ * it is entering or exiting. Unless changed through setDefaultAnimation(), Snackbars fade on low-RAM devices and slide
+ * on all others.
+ */
+public final class SnackbarAnimation {
+
+  /**
+   * Use the default animation, which can be changed through setDefaultAnimation().
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final int ANIMATION_DEFAULT = -1;
+
+  /**
+   * Slide the Snackbar in from the bottom of the screen and back out again, the standard Snackbar animation.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final int ANIMATION_SLIDE = 0;
+
+  /**
+   * Fade the Snackbar in and out, in place of the slide.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final int ANIMATION_FADE = 1;
+
+  /**
+   * Show and hide the Snackbar without animating it.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final int ANIMATION_NONE = 2;
+
+  private static volatile int defaultAnimation = ANIMATION_DEFAULT;
+  private static volatile int lowRamAnimation = ANIMATION_DEFAULT;
+
+  private SnackbarAnimation() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Set the animation used by Snackbars built without one being specified through SnackbarBuilder.animation().
+   *
+   * @param animation ANIMATION_SLIDE, ANIMATION_FADE or ANIMATION_NONE, or ANIMATION_DEFAULT to go back to choosing
+   *                  based on whether the device is low on RAM.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void setDefaultAnimation(int animation) {
+    defaultAnimation = animation;
+  }
+
+  /**
+   * Get the animation used by Snackbars built without one being specified through SnackbarBuilder.animation().
+   *
+   * @param context Context used to check whether the device is low on RAM.
+   * @return ANIMATION_SLIDE, ANIMATION_FADE or ANIMATION_NONE.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static int getDefaultAnimation(Context context) {
+    int animation = defaultAnimation;
+    if (animation != ANIMATION_DEFAULT) {
+      return animation;
+    }
+    animation = lowRamAnimation;
+    if (animation == ANIMATION_DEFAULT) {
+      // Whether the device is low on RAM never changes, so only ask the system once
+      ActivityManager activityManager = (ActivityManager) context.getApplicationContext()
+          .getSystemService(Context.ACTIVITY_SERVICE);
+      boolean lowRam = activityManager != null && ActivityManagerCompat.isLowRamDevice(activityManager);
+      animation = lowRam ? ANIMATION_FADE : ANIMATION_SLIDE;
+      lowRamAnimation = animation;
+    }
+    return animation;
+  }
+
+  static int resolve(Context context, int animation) {
+    return animation != ANIMATION_DEFAULT ? animation : getDefaultAnimation(context);
+  }
+
+  /**
+   * Replace the slide animation of the Snackbar. Snackbars slide by having their translation animated, so this takes
+   * the translation set for each frame just before it is drawn, and either turns it into a fade or drops it.
+   */
+  static void apply(Snackbar snackbar, int animation) {
+    if (animation == ANIMATION_FADE || animation == ANIMATION_NONE) {
+      View view = snackbar.getView();
+      ReplaceSlide replaceSlide = new ReplaceSlide(view, animation == ANIMATION_FADE);
+      view.getViewTreeObserver().addOnPreDrawListener(replaceSlide);
+      snackbar.addCallback(replaceSlide);
+    }
+  }
+
+  static float fadeAlpha(float translationY, int height) {
+    if (height <= 0) {
+      return 1f;
+    }
+    return Math.max(0f, Math.min(1f, 1f - Math.abs(translationY) / height));
+  }
+
+  static final class ReplaceSlide extends Snackbar.Callback implements ViewTreeObserver.OnPreDrawListener {
+
+    private final View view;
+    private final boolean fade;
+    private boolean animating;
+
+    ReplaceSlide(View view, boolean fade) {
+      this.view = view;
+      this.fade = fade;
+    }
+
+    @Override
+    public boolean onPreDraw() {
+      float translationY = view.getTranslationY();
+      if (translationY != 0f) {
+        if (!animating) {
+          animating = true;
+          view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+        view.setTranslationY(0f);
+        if (fade) {
+          view.setAlpha(fadeAlpha(translationY, view.getHeight()));
+        }
+      } else if (animating) {
+        animating = false;
+        view.setLayerType(View.LAYER_TYPE_NONE, null);
+        if (fade) {
+          view.setAlpha(1f);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void onDismissed(Snackbar snackbar, int event) {
+      ViewTreeObserver observer = view.getViewTreeObserver();
+      if (observer.isAlive()) {
+        observer.removeOnPreDrawListener(this);
+      }
+      view.setLayerType(View.LAYER_TYPE_NONE, null);
+    }
+  }
+
+}
@@ -19,13 +19,19 @@ package com.github.andrewlord1990.snackbarbuilder;
 import android.app.Activity;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.AsyncTask;
 import android.text.Spannable;
 import android.text.SpannableString;
 import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextUtils;
 import android.text.style.ForegroundColorSpan;
 import android.view.View;
 import android.view.View.OnClickListener;
+import android.widget.TextView;
 
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarActionDismissCallback;
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
@@ -35,18 +41,27 @@ import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarManualDismissC
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarShowCallback;
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarSwipeDismissCallback;
 import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarTimeoutDismissCallback;
+import com.github.andrewlord1990.snackbarbuilder.event.SnackbarEvents;
 import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;
+import com.github.andrewlord1990.snackbarbuilder.text.MessageTemplate;
 import com.google.android.material.snackbar.Snackbar;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
 import androidx.annotation.DimenRes;
 import androidx.annotation.DrawableRes;
+import androidx.annotation.FontRes;
 import androidx.annotation.StringRes;
 import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
 
 /**
  * A builder pattern to easily create and customise Android Design Support library Snackbars. On top of the
@@ -57,27 +72,48 @@ import androidx.core.content.ContextCompat;
  * - Appending messages
  * - Adding an icon
  * - Providing defaults for all SnackbarBuilders through theme attributes
+ * - Publishing shown and dismissed events to SnackbarEvents subscribers
  * The builder can either output a constructed Snackbar or a SnackbarWrapper. The SnackbarWrapper allows you to further
  * customise the Snackbar after creation and gives you more control than the Snackbar API. Various default values can
  * be loaded from a style specified within your theme. These values can be overridden by the builder methods.
  */
 public final class SnackbarBuilder {
 
+  private static final OnClickListener NO_OP_ACTION_CLICK_LISTENER = new OnClickListener() {
+    @Override
+    public void onClick(View view) {
+      // Not needed
+    }
+  };
+
   Context context;
   View parentView;
   SpannableStringBuilder appendMessages;
   CharSequence message;
+  String messageKey;
   int duration = Snackbar.LENGTH_LONG;
+  AdaptiveDuration adaptiveDuration;
   CharSequence actionText;
   OnClickListener actionClickListener;
-  List<Snackbar.Callback> callbacks = new ArrayList<>();
+  Snackbar.Callback[] callbacks;
   boolean actionAllCaps = true;
   int backgroundColor;
   int actionTextColor;
   int messageTextColor;
   int parentViewId;
   Drawable icon;
+  int iconResId;
+  Uri iconUri;
+  Executor iconExecutor;
   int iconMargin;
+  Typeface typeface;
+  Typeface actionTypeface;
+  long maxShowDeferralMillis;
+  int animation = SnackbarAnimation.ANIMATION_DEFAULT;
+  boolean precomputeText;
+  boolean countdown;
+  Future<PrecomputedTextCompat> precomputedMessage;
+  Spanned precomputedSource;
 
   /**
    * Create a builder to create a Snackbar. The Snackbar will be attached to the specified parent view.
@@ -115,11 +151,56 @@ public final class SnackbarBuilder {
     parentView = parentFinder.findSnackbarParent(activity);
   }
 
+  private SnackbarBuilder(Context context, View parentView) {
+    this.context = context;
+    this.parentView = parentView;
+    iconMargin = context.getResources().getDimensionPixelSize(R.dimen.snackbarbuilder_icon_margin_default);
+  }
+
+  /**
+   * Create a builder to create a Snackbar, without loading any defaults from the snackbarBuilderStyle theme attribute.
+   * This avoids resolving the theme attributes when every option is going to be set on the builder anyway, such as by
+   * the factories generated for SnackbarStyle annotations.
+   *
+   * @param view Parent view to attach the Snackbar to.
+   * @return The builder.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static SnackbarBuilder withoutTheme(View view) {
+    return new SnackbarBuilder(view.getContext(), view);
+  }
+
+  /**
+   * Create a builder to create a Snackbar, without loading any defaults from the snackbarBuilderStyle theme attribute.
+   * The parent view to attach the Snackbar to is found using the provided SnackbarParentFinder.
+   *
+   * @param activity     Activity to show the Snackbar in.
+   * @param parentFinder Used to find the parent view to attach the Snackbar to.
+   * @return The builder.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static SnackbarBuilder withoutTheme(Activity activity, SnackbarParentFinder parentFinder) {
+    return new SnackbarBuilder(activity, parentFinder.findSnackbarParent(activity));
+  }
+
   private void setup(Context context) {
     this.context = context;
     loadThemeAttributes();
   }
 
+  /**
+   * Apply a named style registered with SnackbarStyles. Only the options set in the style are changed, so any others
+   * keep their current values, and options set after applying the style override it.
+   *
+   * @param name The name of the style.
+   * @return This instance.
+   * @throws IllegalArgumentException If no style is registered with the name.
+   */
+  public SnackbarBuilder style(String name) {
+    SnackbarStyles.get(name).applyTo(this);
+    return this;
+  }
+
   /**
    * Set the text to display on the Snackbar.
    *
@@ -143,6 +224,37 @@ public final class SnackbarBuilder {
     return this;
   }
 
+  /**
+   * Set the text to display on the Snackbar from a MessageTemplate, which is only parsed the first time it is used. If
+   * no message key has been set, the template is used as the key.
+   *
+   * @param template The template, containing markup and placeholders as described by MessageTemplate.
+   * @param args     The arguments, in the order their placeholders appear in the template.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder messageTemplate(String template, Object... args) {
+    this.message = MessageTemplate.get(template).format(args);
+    if (messageKey == null) {
+      messageKey = template;
+    }
+    return this;
+  }
+
+  /**
+   * Set a key identifying the message, which is reported with the events published through SnackbarEvents. If not set,
+   * the events have no key, as message text that changes from one Snackbar to the next would give an unbounded number
+   * of keys. Use a constant key, such as the name of the string resource, for messages with dynamic text.
+   *
+   * @param messageKey The key identifying the message.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder messageKey(String messageKey) {
+    this.messageKey = messageKey;
+    return this;
+  }
+
   /**
    * Set the colour to display the message on the Snackbar.
    *
@@ -222,7 +334,8 @@ public final class SnackbarBuilder {
   /**
    * Set the duration to show the Snackbar for.
    *
-   * @param duration The duration.
+   * @param duration The duration, either one of the Snackbar lengths, AdaptiveDuration.LENGTH_ADAPTIVE or a custom
+   *                 duration in milliseconds.
    * @return This instance.
    */
   public SnackbarBuilder duration(int duration) {
@@ -230,6 +343,102 @@ public final class SnackbarBuilder {
     return this;
   }
 
+  /**
+   * Calculate the duration to show the Snackbar for from the length of its message, using the default
+   * AdaptiveDuration. This is the same as setting the duration to AdaptiveDuration.LENGTH_ADAPTIVE.
+   *
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder adaptiveDuration() {
+    return adaptiveDuration(AdaptiveDuration.getDefault());
+  }
+
+  /**
+   * Calculate the duration to show the Snackbar for from the length of its message.
+   *
+   * @param adaptiveDuration Used to calculate the duration and learn the reading speed.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder adaptiveDuration(AdaptiveDuration adaptiveDuration) {
+    this.duration = AdaptiveDuration.LENGTH_ADAPTIVE;
+    this.adaptiveDuration = adaptiveDuration;
+    return this;
+  }
+
+  /**
+   * Show the Snackbar at the start of the next frame rather than part way through the current one, deferring it for up
+   * to SnackbarWrapper.DEFAULT_MAX_SHOW_DEFERRAL_MILLIS while frames are over budget. This only applies when showing
+   * through the wrapper from buildWrapper(), as a Snackbar from build() is shown straight away by Snackbar.show().
+   *
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder frameAlignedShow() {
+    return frameAlignedShow(SnackbarWrapper.DEFAULT_MAX_SHOW_DEFERRAL_MILLIS);
+  }
+
+  /**
+   * Show the Snackbar at the start of the next frame rather than part way through the current one, deferring it while
+   * frames are over budget. This only applies when showing through the wrapper from buildWrapper(), as a Snackbar from
+   * build() is shown straight away by Snackbar.show().
+   *
+   * @param maxDeferralMillis The maximum time in milliseconds to defer showing for, or 0 to show straight away.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder frameAlignedShow(long maxDeferralMillis) {
+    this.maxShowDeferralMillis = maxDeferralMillis;
+    return this;
+  }
+
+  /**
+   * Set the typeface of the message.
+   *
+   * @param typeface The typeface.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder typeface(Typeface typeface) {
+    this.typeface = typeface;
+    return this;
+  }
+
+  /**
+   * Set the typeface of the message from a font resource. Fonts are only loaded once and then shared by all Snackbars.
+   *
+   * @param fontResId The font resource.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder typefaceRes(@FontRes int fontResId) {
+    return typeface(TypefaceCache.get(context, fontResId));
+  }
+
+  /**
+   * Set the typeface of the action.
+   *
+   * @param actionTypeface The typeface.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder actionTypeface(Typeface actionTypeface) {
+    this.actionTypeface = actionTypeface;
+    return this;
+  }
+
+  /**
+   * Set the typeface of the action from a font resource. Fonts are only loaded once and then shared by all Snackbars.
+   *
+   * @param fontResId The font resource.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder actionTypefaceRes(@FontRes int fontResId) {
+    return actionTypeface(TypefaceCache.get(context, fontResId));
+  }
+
   /**
    * Set the text to display as an action on the Snackbar.
    *
@@ -317,7 +526,7 @@ public final class SnackbarBuilder {
    * @return This instance.
    */
   public SnackbarBuilder callback(Snackbar.Callback callback) {
-    callbacks.add(callback);
+    addCallback(callback);
     return this;
   }
 
@@ -329,7 +538,7 @@ public final class SnackbarBuilder {
    * @return This instance.
    */
   public SnackbarBuilder snackbarCallback(SnackbarCallback snackbarCallback) {
-    callbacks.add(snackbarCallback);
+    addCallback(snackbarCallback);
     return this;
   }
 
@@ -341,7 +550,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder showCallback(final SnackbarShowCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarShown(Snackbar snackbar) {
         callback.onSnackbarShown(snackbar);
       }
@@ -357,7 +566,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder dismissCallback(final SnackbarDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarDismissed(Snackbar snackbar, int dismissEvent) {
         callback.onSnackbarDismissed(snackbar, dismissEvent);
       }
@@ -373,7 +582,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder actionDismissCallback(final SnackbarActionDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarActionPressed(Snackbar snackbar) {
         callback.onSnackbarActionPressed(snackbar);
       }
@@ -389,7 +598,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder swipeDismissCallback(final SnackbarSwipeDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarSwiped(Snackbar snackbar) {
         callback.onSnackbarSwiped(snackbar);
       }
@@ -404,7 +613,7 @@ public final class SnackbarBuilder {
    * @return This instance.
    */
   public SnackbarBuilder timeoutDismissCallback(final SnackbarTimeoutDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarTimedOut(Snackbar snackbar) {
         callback.onSnackbarTimedOut(snackbar);
       }
@@ -420,7 +629,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder manualDismissCallback(final SnackbarManualDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarManuallyDismissed(Snackbar snackbar) {
         callback.onSnackbarManuallyDismissed(snackbar);
       }
@@ -436,7 +645,7 @@ public final class SnackbarBuilder {
    */
   @SuppressWarnings("WeakerAccess")
   public SnackbarBuilder consecutiveDismissCallback(final SnackbarConsecutiveDismissCallback callback) {
-    callbacks.add(new SnackbarCallback() {
+    addCallback(new SnackbarCallback() {
       public void onSnackbarDismissedAfterAnotherShown(Snackbar snackbar) {
         callback.onSnackbarDismissedAfterAnotherShown(snackbar);
       }
@@ -457,28 +666,88 @@ public final class SnackbarBuilder {
 
   /**
    * Set an icon to display on the Snackbar next to the message. It is set using compound drawable on the TextView,
-   * so it isn't currently compatible with AppCompat vector drawables unfortunately.
+   * so for AppCompat vector drawables use vectorIcon() instead.
    *
    * @param icon The drawable of the icon.
    * @return This instance.
    */
   public SnackbarBuilder icon(Drawable icon) {
     this.icon = icon;
+    iconResId = 0;
+    iconUri = null;
     return this;
   }
 
   /**
    * Set an icon to display on the Snackbar next to the message. It is set using compound drawable on the TextView,
-   * so it isn't currently compatible with AppCompat vector drawables unfortunately.
+   * so for AppCompat vector drawables use vectorIcon() instead.
    *
    * @param iconResId The drawable resource of the icon.
    * @return This instance.
    */
   public SnackbarBuilder icon(@DrawableRes int iconResId) {
     icon = getDrawable(iconResId);
+    this.iconResId = iconResId;
+    iconUri = null;
+    return this;
+  }
+
+  /**
+   * Set an icon loaded from a file, content or asset Uri to display on the Snackbar next to the message, at the default
+   * icon size. The Snackbar is shown straight away, while the image is decoded in the background and downsampled to the
+   * icon size, with the icon set once it has loaded. Any icon already set is shown until then. Loaded icons are cached
+   * in memory and on disk, so icons that are still in memory are set when the Snackbar is built.
+   *
+   * @param iconUri The Uri of the icon image. Assets are loaded from file:///android_asset/ Uris.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder icon(Uri iconUri) {
+    return icon(iconUri, AsyncTask.THREAD_POOL_EXECUTOR);
+  }
+
+  /**
+   * Set an icon loaded from a file, content or asset Uri to display on the Snackbar next to the message, at the default
+   * icon size. The image is decoded on the executor, as with icon(Uri).
+   *
+   * @param iconUri  The Uri of the icon image. Assets are loaded from file:///android_asset/ Uris.
+   * @param executor The executor to load the icon on.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder icon(Uri iconUri, Executor executor) {
+    this.iconUri = iconUri;
+    iconExecutor = executor;
     return this;
   }
 
+  /**
+   * Set a vector drawable icon to display on the Snackbar next to the message, at the default icon size. The vector is
+   * rasterised once into a bitmap, which is shared by every Snackbar that uses it at the same size and density.
+   *
+   * @param vectorResId The vector drawable resource of the icon.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder vectorIcon(@DrawableRes int vectorResId) {
+    return vectorIcon(vectorResId,
+        context.getResources().getDimensionPixelSize(R.dimen.snackbarbuilder_icon_size_default), 0);
+  }
+
+  /**
+   * Set a vector drawable icon to display on the Snackbar next to the message. The vector is rasterised once into a
+   * bitmap, which is shared by every Snackbar that uses it at the same size, density and tint.
+   *
+   * @param vectorResId The vector drawable resource of the icon.
+   * @param sizePixels  The width and height of the icon.
+   * @param tint        The color to tint the icon, or 0 to leave it as it is.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder vectorIcon(@DrawableRes int vectorResId, int sizePixels, @ColorInt int tint) {
+    return icon(VectorIconCache.get(context, vectorResId, sizePixels, tint));
+  }
+
   /**
    * Set the margin to be displayed between the icon and the text.
    *
@@ -503,6 +772,115 @@ public final class SnackbarBuilder {
         context.getResources().getDimensionPixelSize(iconMarginResId));
   }
 
+  /**
+   * Set how the Snackbar is animated in and out. Fading, or not animating at all, is cheaper than the standard slide on
+   * low-end devices, with the Snackbar drawn into a hardware layer while it is entering or exiting. By default the
+   * animation from SnackbarAnimation.setDefaultAnimation() is used, which is to fade on low-RAM devices and slide on
+   * all others unless it has been changed.
+   *
+   * @param animation SnackbarAnimation.ANIMATION_SLIDE, ANIMATION_FADE, ANIMATION_NONE or ANIMATION_DEFAULT.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder animation(int animation) {
+    this.animation = animation;
+    return this;
+  }
+
+  /**
+   * Count down the seconds until the Snackbar times out within its message, which must contain a %d placeholder for
+   * the number of seconds, for example "Deleting in %d". The countdowns of all visible Snackbars are updated together
+   * by a single ticker, changing only the digits within the message. The Snackbar must have a timed duration, and the
+   * message is not precomputed when counting down. As only the number changes, write the message so that it reads
+   * correctly for any number, for example "Deleting in %ds" rather than "Deleting in %d seconds". While the Snackbar is
+   * touched or being swiped its timeout is paused, then restarted for the full duration once it is released. The
+   * countdown does not follow this, so it keeps counting down and can reach 0 before the Snackbar is dismissed.
+   *
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder countdown() {
+    countdown = true;
+    return this;
+  }
+
+  /**
+   * Precompute the layout of the message, including any appended messages, on the given executor, so that it does not
+   * have to be measured on the main thread when the Snackbar is laid out. Call this once the message has been set.
+   * The text metrics come from the message view of the previous Snackbar built with this option, so the first message
+   * is not precomputed, and a precomputed message is not used if the metrics have changed since. The precomputed message
+   * is only used if the work has finished by the time the Snackbar is built, rather than waiting for it, and if the
+   * message has not been changed since this was called. The message is not precomputed when counting down, as the
+   * digits within it are changed in place.
+   *
+   * @param executor The executor to precompute the message on.
+   * @return This instance.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarBuilder precomputeText(Executor executor) {
+    precomputeText = true;
+    PrecomputedTextCompat.Params params = MessageTextMetrics.get();
+    if (params != null && !countdown) {
+      SpannableStringBuilder source = getFullMessage();
+      FutureTask<PrecomputedTextCompat> task = new FutureTask<>(new PrecomputeMessage(source, params));
+      precomputedSource = source;
+      precomputedMessage = task;
+      executor.execute(task);
+    }
+    return this;
+  }
+
+  /**
+   * Save the options specified in the builder, so that the Snackbar can be recreated after a configuration change.
+   *
+   * @return The saved state, which can be put into a Bundle.
+   */
+  public SnackbarState saveState() {
+    return new SnackbarState(this);
+  }
+
+  /**
+   * Save the options specified in the builder, along with the time left to show the Snackbar built from it for. When
+   * restored, the Snackbar will only be shown for the remainder of its duration.
+   *
+   * @param wrapper The wrapper returned by buildWrapper(), which has been shown through SnackbarWrapper.show().
+   * @return The saved state, which can be put into a Bundle.
+   */
+  public SnackbarState saveState(SnackbarWrapper wrapper) {
+    return new SnackbarState(this, wrapper);
+  }
+
+  /**
+   * Apply options previously saved through saveState(). Any options that have already been set on this builder are
+   * overwritten, apart from the parent view, callbacks and the action click listener.
+   *
+   * @param state The saved state.
+   * @return This instance.
+   */
+  public SnackbarBuilder restoreState(SnackbarState state) {
+    return restoreState(state, null);
+  }
+
+  SnackbarBuilder restoreState(SnackbarState state, Drawable icon) {
+    message = state.message;
+    appendMessages = state.appendMessages != null ? new SpannableStringBuilder(state.appendMessages) : null;
+    messageKey = state.messageKey;
+    actionText = state.actionText;
+    duration = state.duration;
+    actionAllCaps = state.actionAllCaps;
+    backgroundColor = state.backgroundColor;
+    actionTextColor = state.actionTextColor;
+    messageTextColor = state.messageTextColor;
+    iconMargin = state.iconMargin;
+    if (icon != null) {
+      this.icon = icon;
+      iconResId = state.iconResId;
+    } else if (state.iconResId != 0) {
+      icon(state.iconResId);
+    }
+    return this;
+  }
+
   /**
    * Build a Snackbar using the options specified in the builder. Wrap this Snackbar into a SnackbarWrapper, which
    * allows further customisation.
@@ -510,38 +888,57 @@ public final class SnackbarBuilder {
    * @return A SnackbarWrapper, a class which wraps a Snackbar for further customisation.
    */
   public SnackbarWrapper buildWrapper() {
-    Snackbar snackbar = Snackbar.make(parentView, message, duration);
-    SnackbarWrapper wrapper = new SnackbarWrapper(snackbar)
+    return new SnackbarWrapper(build())
+        .setMaxShowDeferral(maxShowDeferralMillis);
+  }
+
+  /**
+   * Update a Snackbar that is showing, or queued to be shown, with the options specified in the builder, rather than
+   * dismissing it and showing a new one. The message, action, icon, colors and duration are updated in place and its
+   * timeout is restarted, without it being inflated or animated again. Callbacks are not added to an existing Snackbar.
+   * If there is no existing Snackbar, or it has been dismissed, a new one is built, which then needs to be shown.
+   *
+   * @param existing The wrapper of the Snackbar to update, or null.
+   * @return The updated wrapper, or a newly built one.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper buildOrUpdate(SnackbarWrapper existing) {
+    if (existing == null || !existing.isShownOrQueued()) {
+      return buildWrapper();
+    }
+    existing.setText(message != null ? message : "")
         .setAction(actionText, sanitisedActionClickListener())
         .setActionTextAllCaps(actionAllCaps)
-        .addCallbacks(callbacks)
-        .setIconMargin(iconMargin);
+        .setIcon(icon)
+        .setIconMargin(iconMargin)
+        .setDuration(resolveDuration());
+    if (iconUri != null) {
+      existing.setIcon(iconUri, iconExecutor);
+    }
+    if (appendMessages != null) {
+      existing.appendMessage(appendMessages);
+    }
     if (actionTextColor != 0) {
-      wrapper.setActionTextColor(actionTextColor);
+      existing.setActionTextColor(actionTextColor);
     }
     if (messageTextColor != 0) {
-      wrapper.setTextColor(messageTextColor);
-    }
-    if (appendMessages != null) {
-      wrapper.appendMessage(appendMessages);
+      existing.setTextColor(messageTextColor);
     }
     if (backgroundColor != 0) {
-      wrapper.setBackgroundColor(backgroundColor);
+      existing.setBackgroundColor(backgroundColor);
     }
-    if (icon != null) {
-      wrapper.setIcon(icon);
+    if (typeface != null) {
+      existing.setTypeface(typeface);
+    }
+    if (actionTypeface != null) {
+      existing.setActionTypeface(actionTypeface);
     }
-    return wrapper;
+    return existing.restartTimeout();
   }
 
-  private OnClickListener sanitisedActionClickListener() {
+  OnClickListener sanitisedActionClickListener() {
     if (actionClickListener == null) {
-      return new OnClickListener() {
-        @Override
-        public void onClick(View view) {
-          // Not needed
-        }
-      };
+      return NO_OP_ACTION_CLICK_LISTENER;
     }
     return actionClickListener;
   }
@@ -552,7 +949,162 @@ public final class SnackbarBuilder {
    * @return A Snackbar.
    */
   public Snackbar build() {
-    return buildWrapper().getSnackbar();
+    int resolvedDuration = resolveDuration();
+    if (countdown && resolvedDuration == Snackbar.LENGTH_INDEFINITE) {
+      throw new IllegalStateException("A countdown needs a Snackbar with a timed duration");
+    }
+    Snackbar snackbar = Snackbar.make(parentView, message, resolvedDuration);
+    addCallbacks(snackbar);
+    SnackbarAnimation.apply(snackbar, SnackbarAnimation.resolve(context, animation));
+    View view = snackbar.getView();
+    if (actionText != null) {
+      snackbar.setAction(actionText, sanitisedActionClickListener());
+      TextView actionView = (TextView) view.findViewById(R.id.snackbar_action);
+      TextViewExtension.setAllCaps(actionView, actionAllCaps);
+      if (actionTypeface != null) {
+        actionView.setTypeface(actionTypeface);
+      }
+      if (actionTextColor != 0) {
+        ColorStateLists.setTextColor(actionView, actionTextColor);
+      }
+    } else if (actionTextColor != 0) {
+      ColorStateLists.setTextColor((TextView) view.findViewById(R.id.snackbar_action), actionTextColor);
+    }
+    if (messageTextColor != 0 || appendMessages != null || icon != null || iconUri != null || typeface != null
+        || precomputeText || countdown) {
+      // Only look up the message view when one of the options needs it
+      TextView messageView = (TextView) view.findViewById(R.id.snackbar_text);
+      if (messageTextColor != 0) {
+        ColorStateLists.setTextColor(messageView, messageTextColor);
+      }
+      if (typeface != null) {
+        messageView.setTypeface(typeface);
+      }
+      if (!(precomputeText && !countdown && applyPrecomputedMessage(messageView)) && appendMessages != null) {
+        messageView.append(appendMessages);
+      }
+      if (icon != null || iconUri != null) {
+        setMessageIcon(messageView);
+      }
+      if (countdown) {
+        snackbar.addCallback(CountdownTicker.attach(messageView, SnackbarWrapper.toMillis(resolvedDuration)));
+      }
+    }
+    if (backgroundColor != 0) {
+      ColorStateLists.setBackgroundColor(view, backgroundColor);
+    }
+    return snackbar;
+  }
+
+  private void setMessageIcon(TextView messageView) {
+    Drawable messageIcon = icon;
+    if (iconUri != null) {
+      int sizePixels = context.getResources().getDimensionPixelSize(R.dimen.snackbarbuilder_icon_size_default);
+      Drawable cachedIcon = UriIconLoader.getCached(context.getResources(), iconUri, sizePixels);
+      if (cachedIcon != null) {
+        messageIcon = cachedIcon;
+      } else {
+        UriIconLoader.load(context, iconUri, sizePixels, iconExecutor, messageView);
+      }
+    }
+    messageView.setCompoundDrawablesWithIntrinsicBounds(messageIcon, null, null, null);
+    messageView.setCompoundDrawablePadding(iconMargin);
+  }
+
+  private boolean applyPrecomputedMessage(TextView messageView) {
+    PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(messageView);
+    MessageTextMetrics.set(params);
+    // Never block the main thread waiting for the work, the message is measured as normal if it is not ready
+    if (precomputedMessage == null || !precomputedMessage.isDone() || !isPrecomputedSourceCurrent()) {
+      return false;
+    }
+    try {
+      PrecomputedTextCompat text = precomputedMessage.get();
+      if (!text.getParams().equals(params)) {
+        return false;
+      }
+      TextViewCompat.setPrecomputedText(messageView, text);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      return false;
+    }
+  }
+
+  private boolean isPrecomputedSourceCurrent() {
+    Spanned current = getFullMessage();
+    if (!TextUtils.equals(precomputedSource, current)) {
+      return false;
+    }
+    // Copying the message keeps the same span objects, so any spans changed since show up here
+    Object[] sourceSpans = precomputedSource.getSpans(0, precomputedSource.length(), Object.class);
+    Object[] currentSpans = current.getSpans(0, current.length(), Object.class);
+    if (sourceSpans.length != currentSpans.length) {
+      return false;
+    }
+    for (int i = 0; i < sourceSpans.length; i++) {
+      if (sourceSpans[i] != currentSpans[i]
+          || precomputedSource.getSpanStart(sourceSpans[i]) != current.getSpanStart(currentSpans[i])
+          || precomputedSource.getSpanEnd(sourceSpans[i]) != current.getSpanEnd(currentSpans[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private SpannableStringBuilder getFullMessage() {
+    SpannableStringBuilder fullMessage = new SpannableStringBuilder();
+    if (message != null) {
+      fullMessage.append(message);
+    }
+    if (appendMessages != null) {
+      fullMessage.append(appendMessages);
+    }
+    return fullMessage;
+  }
+
+  private void addCallbacks(Snackbar snackbar) {
+    if (callbacks != null) {
+      for (Snackbar.Callback callback : callbacks) {
+        snackbar.addCallback(callback);
+      }
+    }
+    if (duration == AdaptiveDuration.LENGTH_ADAPTIVE) {
+      snackbar.addCallback(resolveAdaptiveDuration().createLearningCallback(getMessageLength()));
+    }
+    if (SnackbarEvents.hasSubscribers()) {
+      snackbar.addCallback(SnackbarEvents.tracker(messageKey));
+    }
+  }
+
+  private int resolveDuration() {
+    if (duration == AdaptiveDuration.LENGTH_ADAPTIVE) {
+      return resolveAdaptiveDuration().computeDuration(getMessageLength());
+    }
+    return duration;
+  }
+
+  private AdaptiveDuration resolveAdaptiveDuration() {
+    return adaptiveDuration != null ? adaptiveDuration : AdaptiveDuration.getDefault();
+  }
+
+  private int getMessageLength() {
+    int length = message != null ? message.length() : 0;
+    if (appendMessages != null) {
+      length += appendMessages.length();
+    }
+    return length;
+  }
+
+  private void addCallback(Snackbar.Callback callback) {
+    if (callbacks == null) {
+      callbacks = new Snackbar.Callback[] {callback};
+    } else {
+      callbacks = Arrays.copyOf(callbacks, callbacks.length + 1);
+      callbacks[callbacks.length - 1] = callback;
+    }
   }
 
   private void initialiseAppendMessages() {
@@ -572,6 +1124,8 @@ public final class SnackbarBuilder {
       loadBackgroundColor(attrs);
       loadIconMargin(attrs);
       loadActionAllCaps(attrs);
+      loadIcon(attrs);
+      loadTypefaces(attrs);
     } finally {
       attrs.recycle();
     }
@@ -612,6 +1166,24 @@ public final class SnackbarBuilder {
     actionAllCaps = attrs.getBoolean(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionAllCaps, true);
   }
 
+  private void loadTypefaces(TypedArray attrs) {
+    int fontResId = attrs.getResourceId(R.styleable.SnackbarBuilderStyle_snackbarBuilder_messageFont, 0);
+    if (fontResId != 0) {
+      typefaceRes(fontResId);
+    }
+    int actionFontResId = attrs.getResourceId(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionFont, 0);
+    if (actionFontResId != 0) {
+      actionTypefaceRes(actionFontResId);
+    }
+  }
+
+  private void loadIcon(TypedArray attrs) {
+    int iconResId = attrs.getResourceId(R.styleable.SnackbarBuilderStyle_snackbarBuilder_icon, 0);
+    if (iconResId != 0) {
+      icon(iconResId);
+    }
+  }
+
   private int getColor(@ColorRes int color) {
     return ContextCompat.getColor(context, color);
   }
@@ -619,4 +1191,21 @@ public final class SnackbarBuilder {
   private Drawable getDrawable(@DrawableRes int drawableResId) {
     return ContextCompat.getDrawable(context, drawableResId);
   }
+
+  private static final class PrecomputeMessage implements Callable<PrecomputedTextCompat> {
+
+    private final CharSequence message;
+    private final PrecomputedTextCompat.Params params;
+
+    PrecomputeMessage(CharSequence message, PrecomputedTextCompat.Params params) {
+      this.message = message;
+      this.params = params;
+    }
+
+    @Override
+    public PrecomputedTextCompat call() {
+      return PrecomputedTextCompat.create(message, params);
+    }
+  }
+
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.ToastBuilder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Shows Snackbars and Toasts from any thread. Requests are added to a lock-free queue and shown on the main thread,
+ * with however many requests are made before the main thread gets to them being shown from a single message on its
+ * queue, rather than needing a Runnable to be posted for each one. A SnackbarBuilder or ToastBuilder can be set up on
+ * any thread, with it being built on the main thread when its request is shown.
+ */
+public final class SnackbarDispatcher {
+
+  // Limits how long a burst of requests can hold up the main thread before other messages get a turn
+  private static final int MAX_BATCH_SIZE = 32;
+
+  private static final ConcurrentLinkedQueue<Object> PENDING = new ConcurrentLinkedQueue<>();
+  private static final AtomicBoolean DRAIN_SCHEDULED = new AtomicBoolean();
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+  private static final Runnable DRAIN_RUNNABLE = new Runnable() {
+    @Override
+    public void run() {
+      drain();
+    }
+  };
+
+  private SnackbarDispatcher() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Build and show a Snackbar on the main thread. The builder must not be changed after it is passed in.
+   *
+   * @param builder The builder to show a Snackbar from.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void show(@NonNull SnackbarBuilder builder) {
+    enqueue(builder);
+  }
+
+  /**
+   * Show a Snackbar on the main thread.
+   *
+   * @param wrapper The wrapper of the Snackbar to show.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void show(@NonNull SnackbarWrapper wrapper) {
+    enqueue(wrapper);
+  }
+
+  /**
+   * Build and show a Toast on the main thread. The builder must not be changed after it is passed in.
+   *
+   * @param builder The builder to show a Toast from.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void show(@NonNull ToastBuilder builder) {
+    enqueue(builder);
+  }
+
+  private static void enqueue(Object request) {
+    PENDING.offer(request);
+    if (DRAIN_SCHEDULED.compareAndSet(false, true)) {
+      MAIN_HANDLER.post(DRAIN_RUNNABLE);
+    }
+  }
+
+  static void drain() {
+    int shown = 0;
+    Object request;
+    try {
+      while (shown < MAX_BATCH_SIZE && (request = PENDING.poll()) != null) {
+        shown++;
+        showNow(request);
+      }
+    } finally {
+      // Also reached when a request fails to show, so the requests behind it are still shown
+      DRAIN_SCHEDULED.set(false);
+      if (!PENDING.isEmpty() && DRAIN_SCHEDULED.compareAndSet(false, true)) {
+        MAIN_HANDLER.post(DRAIN_RUNNABLE);
+      }
+    }
+  }
+
+  private static void showNow(Object request) {
+    if (request instanceof SnackbarBuilder) {
+      ((SnackbarBuilder) request).buildWrapper().show();
+    } else if (request instanceof SnackbarWrapper) {
+      ((SnackbarWrapper) request).show();
+    } else {
+      ((ToastBuilder) request).build().show();
+    }
+  }
+
+}
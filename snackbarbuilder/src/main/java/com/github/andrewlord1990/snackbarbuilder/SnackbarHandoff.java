@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.Activity;
+import android.graphics.drawable.Drawable;
+import android.os.Parcel;
+import android.os.SystemClock;
+
+import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Carries a Snackbar over from one Activity to the next, for example a "Saved" message shown as an edit screen closes.
+ * Hand the Snackbar off as the old Activity finishes, then resume it from the new Activity, where it is rebuilt on the
+ * parent found by a SnackbarParentFinder and shown for however much of its duration was left. The options that were
+ * already resolved, including the icon, are reused rather than being loaded from resources again. The text is held in
+ * the same form as when saved into a Bundle, so only parcelable spans are kept and nothing holds on to the old
+ * Activity. Only a single Snackbar is held at a time, and it is kept in memory only, so it does not survive the process
+ * being killed.
+ */
+public final class SnackbarHandoff {
+
+  private static final AtomicReference<Handoff> PENDING = new AtomicReference<>();
+
+  private SnackbarHandoff() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Hand off a Snackbar, so it can be resumed in the next Activity. Replaces any Snackbar that was handed off but not
+   * resumed. Nothing is handed off if the Snackbar has already timed out.
+   *
+   * @param builder The builder the Snackbar was created from.
+   * @param wrapper The wrapper returned by builder.buildWrapper(), which has been shown through SnackbarWrapper.show().
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void handOff(@NonNull SnackbarBuilder builder, @NonNull SnackbarWrapper wrapper) {
+    SnackbarState state = builder.saveState(wrapper);
+    if (state.isExpired()) {
+      PENDING.set(null);
+      return;
+    }
+    Drawable.ConstantState iconState = builder.icon != null ? builder.icon.getConstantState() : null;
+    PENDING.set(new Handoff(flatten(state), iconState, SystemClock.uptimeMillis()));
+  }
+
+  /**
+   * Check whether there is a Snackbar waiting to be resumed.
+   *
+   * @return Whether there is a Snackbar to resume.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static boolean hasPending() {
+    return PENDING.get() != null;
+  }
+
+  /**
+   * Take the Snackbar that was handed off, recreating its builder in the new Activity. The duration is what was left
+   * of the original, less the time taken to get to the new Activity. Set any action click listener and callbacks on
+   * the builder again, as they belonged to the old Activity, then build and show it.
+   *
+   * @param activity     The Activity to show the Snackbar in.
+   * @param parentFinder Finds the parent view of the Snackbar.
+   * @return The builder, or null if there was nothing handed off or the Snackbar would already have timed out.
+   */
+  @Nullable
+  @SuppressWarnings("WeakerAccess")
+  public static SnackbarBuilder resume(@NonNull Activity activity, @NonNull SnackbarParentFinder parentFinder) {
+    Handoff handoff = PENDING.getAndSet(null);
+    if (handoff == null) {
+      return null;
+    }
+    int duration = handoff.remainingDuration(SystemClock.uptimeMillis());
+    if (duration == Handoff.EXPIRED) {
+      return null;
+    }
+    Drawable icon = handoff.iconState != null ? handoff.iconState.newDrawable(activity.getResources()) : null;
+    return SnackbarBuilder.withoutTheme(activity, parentFinder)
+        .restoreState(handoff.state, icon)
+        .duration(duration);
+  }
+
+  /**
+   * Drop any Snackbar that was handed off but not resumed.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void clear() {
+    PENDING.set(null);
+  }
+
+  private static SnackbarState flatten(SnackbarState state) {
+    // Spans such as a ClickableSpan can reference the old Activity, which would then outlive it in the static handoff
+    Parcel parcel = Parcel.obtain();
+    try {
+      state.writeToParcel(parcel, 0);
+      parcel.setDataPosition(0);
+      return SnackbarState.CREATOR.createFromParcel(parcel);
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  static final class Handoff {
+
+    static final int EXPIRED = Integer.MIN_VALUE;
+
+    final SnackbarState state;
+    final Drawable.ConstantState iconState;
+    final long handedOffAtMillis;
+
+    Handoff(SnackbarState state, Drawable.ConstantState iconState, long handedOffAtMillis) {
+      this.state = state;
+      this.iconState = iconState;
+      this.handedOffAtMillis = handedOffAtMillis;
+    }
+
+    int remainingDuration(long nowMillis) {
+      int duration = state.getDuration();
+      if (duration == Snackbar.LENGTH_INDEFINITE || duration == AdaptiveDuration.LENGTH_ADAPTIVE) {
+        return duration;
+      }
+      long remainingMillis = SnackbarWrapper.toMillis(duration) - (nowMillis - handedOffAtMillis);
+      return remainingMillis > 0 ? (int) remainingMillis : EXPIRED;
+    }
+  }
+
+}
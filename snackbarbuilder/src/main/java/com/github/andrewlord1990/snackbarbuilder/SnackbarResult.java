@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.os.Looper;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The result of showing a Snackbar, which completes with the event that caused the Snackbar to be dismissed. This is a
+ * Future, so a background thread can wait for the user's decision, with get() throwing if called on the main thread
+ * while still waiting. Alternatively, a listener can be set to be told on the main thread once the Snackbar has been
+ * dismissed. Cancelling the result dismisses the Snackbar. Create using SnackbarWrapper.showForResult().
+ */
+public final class SnackbarResult extends Snackbar.Callback implements Future<Integer> {
+
+  /**
+   * Listener for the result of a Snackbar.
+   */
+  public interface Listener {
+
+    /**
+     * Called on the main thread once the Snackbar has been dismissed.
+     *
+     * @param dismissEvent The event which caused the dismissal.
+     */
+    void onResult(int dismissEvent);
+
+  }
+
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_DISMISSED = 1;
+  private static final int STATE_CANCELLED = 2;
+
+  private final Snackbar snackbar;
+  private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+  private final CountDownLatch latch = new CountDownLatch(1);
+  private volatile int dismissEvent;
+  private Listener listener;
+
+  SnackbarResult(Snackbar snackbar) {
+    this.snackbar = snackbar;
+  }
+
+  /**
+   * Set the listener to be told of the result. If the Snackbar has already been dismissed, the listener is called
+   * straight away. Must be called on the main thread.
+   *
+   * @param listener The listener, or null to remove it.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarResult setListener(@Nullable Listener listener) {
+    this.listener = listener;
+    if (listener != null && state.get() == STATE_DISMISSED) {
+      listener.onResult(dismissEvent);
+    }
+    return this;
+  }
+
+  @Override
+  public void onDismissed(Snackbar snackbar, int dismissEvent) {
+    this.dismissEvent = dismissEvent;
+    if (state.compareAndSet(STATE_PENDING, STATE_DISMISSED)) {
+      latch.countDown();
+      if (listener != null) {
+        listener.onResult(dismissEvent);
+      }
+    }
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+      return false;
+    }
+    latch.countDown();
+    snackbar.dismiss();
+    return true;
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return state.get() == STATE_CANCELLED;
+  }
+
+  @Override
+  public boolean isDone() {
+    return state.get() != STATE_PENDING;
+  }
+
+  /**
+   * Wait for the Snackbar to be dismissed. Must not be called on the main thread unless the result is already done, as
+   * the Snackbar can only be dismissed there.
+   *
+   * @return The event which caused the dismissal.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  @Override
+  public Integer get() throws InterruptedException {
+    if (!isDone()) {
+      checkNotMainThread();
+      latch.await();
+    }
+    return getResult();
+  }
+
+  /**
+   * Wait up to the given time for the Snackbar to be dismissed. Must not be called on the main thread unless the result
+   * is already done, as the Snackbar can only be dismissed there.
+   *
+   * @param timeout The maximum time to wait.
+   * @param unit    The unit of the timeout.
+   * @return The event which caused the dismissal.
+   * @throws InterruptedException If interrupted while waiting.
+   * @throws TimeoutException     If the Snackbar was not dismissed in time.
+   */
+  @Override
+  public Integer get(long timeout, @NonNull TimeUnit unit) throws InterruptedException, TimeoutException {
+    if (!isDone()) {
+      checkNotMainThread();
+      if (!latch.await(timeout, unit)) {
+        throw new TimeoutException();
+      }
+    }
+    return getResult();
+  }
+
+  private Integer getResult() {
+    if (state.get() == STATE_CANCELLED) {
+      throw new CancellationException();
+    }
+    // Dismiss events are small, so boxing uses the cached Integer instances
+    return dismissEvent;
+  }
+
+  private static void checkNotMainThread() {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      throw new IllegalStateException("Waiting for a SnackbarResult on the main thread would block its dismissal");
+    }
+  }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.Spanned;
+import android.text.SpannedString;
+import android.text.TextUtils;
+
+import com.google.android.material.snackbar.Snackbar;
+
+/**
+ * A snapshot of the configuration of a SnackbarBuilder, which can be saved into a Bundle so that a Snackbar survives
+ * configuration changes such as rotation. Create one through SnackbarBuilder.saveState() and apply it to a new builder
+ * through SnackbarBuilder.restoreState(SnackbarState). The message and action text keep any parcelable spans, colours
+ * are kept as resolved values and icons set through a drawable resource are kept as the resource ID, so nothing needs
+ * resolving again when restoring. Callbacks, click listeners and icons set as a Drawable cannot be saved, so these need
+ * setting again on the restored builder.
+ */
+public final class SnackbarState implements Parcelable {
+
+  public static final Creator<SnackbarState> CREATOR = new Creator<SnackbarState>() {
+    @Override
+    public SnackbarState createFromParcel(Parcel source) {
+      return new SnackbarState(source);
+    }
+
+    @Override
+    public SnackbarState[] newArray(int size) {
+      return new SnackbarState[size];
+    }
+  };
+
+  private static final int DURATION_EXPIRED = Integer.MIN_VALUE;
+
+  final CharSequence message;
+  final CharSequence appendMessages;
+  final String messageKey;
+  final CharSequence actionText;
+  final int duration;
+  final boolean actionAllCaps;
+  final int backgroundColor;
+  final int actionTextColor;
+  final int messageTextColor;
+  final int iconResId;
+  final int iconMargin;
+
+  SnackbarState(SnackbarBuilder builder) {
+    this(builder, builder.duration);
+  }
+
+  SnackbarState(SnackbarBuilder builder, SnackbarWrapper wrapper) {
+    this(builder, remainingDuration(builder, wrapper));
+  }
+
+  private SnackbarState(SnackbarBuilder builder, int duration) {
+    message = copy(builder.message);
+    appendMessages = copy(builder.appendMessages);
+    messageKey = builder.messageKey;
+    actionText = copy(builder.actionText);
+    this.duration = duration;
+    actionAllCaps = builder.actionAllCaps;
+    backgroundColor = builder.backgroundColor;
+    actionTextColor = builder.actionTextColor;
+    messageTextColor = builder.messageTextColor;
+    iconResId = builder.iconResId;
+    iconMargin = builder.iconMargin;
+  }
+
+  private SnackbarState(Parcel source) {
+    message = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source);
+    appendMessages = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source);
+    messageKey = source.readString();
+    actionText = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source);
+    duration = source.readInt();
+    actionAllCaps = source.readInt() != 0;
+    backgroundColor = source.readInt();
+    actionTextColor = source.readInt();
+    messageTextColor = source.readInt();
+    iconResId = source.readInt();
+    iconMargin = source.readInt();
+  }
+
+  /**
+   * Get the duration the restored Snackbar will be shown for. For a Snackbar that was visible when the state was saved,
+   * this is the time it had left to be shown for.
+   *
+   * @return The duration, either one of the Snackbar lengths or a custom duration in milliseconds.
+   */
+  public int getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get whether the Snackbar had already been shown for its full duration when the state was saved, so there is no
+   * point restoring it.
+   *
+   * @return Whether the Snackbar has expired.
+   */
+  public boolean isExpired() {
+    return duration == DURATION_EXPIRED;
+  }
+
+  /**
+   * Get whether the Snackbar is shown until dismissed.
+   *
+   * @return Whether the duration is indefinite.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public boolean isIndefinite() {
+    return duration == Snackbar.LENGTH_INDEFINITE;
+  }
+
+  private static CharSequence copy(CharSequence text) {
+    // The builder keeps appending to its own text, so the state takes an immutable copy
+    if (text instanceof Spanned) {
+      return new SpannedString(text);
+    }
+    return text != null ? text.toString() : null;
+  }
+
+  private static int remainingDuration(SnackbarBuilder builder, SnackbarWrapper wrapper) {
+    if (!wrapper.isTimerRunning()) {
+      return builder.duration;
+    }
+    long remainingMillis = wrapper.getRemainingMillis();
+    if (remainingMillis == Long.MAX_VALUE) {
+      return Snackbar.LENGTH_INDEFINITE;
+    }
+    if (remainingMillis <= 0) {
+      return DURATION_EXPIRED;
+    }
+    return (int) remainingMillis;
+  }
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(Parcel dest, int flags) {
+    TextUtils.writeToParcel(message, dest, flags);
+    TextUtils.writeToParcel(appendMessages, dest, flags);
+    dest.writeString(messageKey);
+    TextUtils.writeToParcel(actionText, dest, flags);
+    dest.writeInt(duration);
+    dest.writeInt(actionAllCaps ? 1 : 0);
+    dest.writeInt(backgroundColor);
+    dest.writeInt(actionTextColor);
+    dest.writeInt(messageTextColor);
+    dest.writeInt(iconResId);
+    dest.writeInt(iconMargin);
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.StyleRes;
+import androidx.core.content.ContextCompat;
+
+/**
+ * A registry of named Snackbar styles, for apps with a handful of recurring styles such as error, success or undo.
+ * Each style is resolved once when it is registered, into an immutable set of values. Applying a style to a
+ * SnackbarBuilder through SnackbarBuilder.style(String) then just copies those values across, sharing the icon's
+ * constant state rather than loading the colours and drawable again for every Snackbar.
+ */
+public final class SnackbarStyles {
+
+  private static final Map<String, Style> STYLES = new ConcurrentHashMap<>();
+
+  private SnackbarStyles() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Register a named style from a style resource, using the same attributes as the snackbarBuilderStyle theme
+   * attribute. Only the attributes set in the style resource (or its parents) are applied by the named style.
+   *
+   * @param context    Context used to resolve the style resource.
+   * @param name       The name of the style.
+   * @param styleResId The style resource.
+   */
+  public static void register(Context context, @NonNull String name, @StyleRes int styleResId) {
+    TypedArray attrs = context.obtainStyledAttributes(styleResId, R.styleable.SnackbarBuilderStyle);
+    try {
+      STYLES.put(name, Style.from(context, attrs));
+    } finally {
+      attrs.recycle();
+    }
+  }
+
+  /**
+   * Register a named style from the options set on a SnackbarBuilder. The colours, icon, icon margin, action all caps
+   * and duration are taken from it, the message, action and callbacks are not.
+   *
+   * @param name     The name of the style.
+   * @param template The builder to take the style options from.
+   */
+  public static void register(@NonNull String name, @NonNull SnackbarBuilder template) {
+    STYLES.put(name, Style.from(template));
+  }
+
+  /**
+   * Remove a named style.
+   *
+   * @param name The name of the style.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static void unregister(@NonNull String name) {
+    STYLES.remove(name);
+  }
+
+  /**
+   * Get whether a named style has been registered.
+   *
+   * @param name The name of the style.
+   * @return Whether the style is registered.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static boolean isRegistered(@NonNull String name) {
+    return STYLES.containsKey(name);
+  }
+
+  static Style get(String name) {
+    Style style = STYLES.get(name);
+    if (style == null) {
+      throw new IllegalArgumentException("No Snackbar style registered with name " + name);
+    }
+    return style;
+  }
+
+  static final class Style {
+
+    private static final int UNSET = Integer.MIN_VALUE;
+
+    final int backgroundColor;
+    final int messageTextColor;
+    final int actionTextColor;
+    final Drawable.ConstantState iconState;
+    final int iconMargin;
+    final int duration;
+    final int actionAllCaps;
+    final Typeface typeface;
+    final Typeface actionTypeface;
+
+    private Style(int backgroundColor, int messageTextColor, int actionTextColor, Drawable.ConstantState iconState,
+                  int iconMargin, int duration, int actionAllCaps, Typeface typeface, Typeface actionTypeface) {
+      this.backgroundColor = backgroundColor;
+      this.messageTextColor = messageTextColor;
+      this.actionTextColor = actionTextColor;
+      this.iconState = iconState;
+      this.iconMargin = iconMargin;
+      this.duration = duration;
+      this.actionAllCaps = actionAllCaps;
+      this.typeface = typeface;
+      this.actionTypeface = actionTypeface;
+    }
+
+    static Style from(Context context, TypedArray attrs) {
+      Drawable.ConstantState iconState = null;
+      int iconResId = attrs.getResourceId(R.styleable.SnackbarBuilderStyle_snackbarBuilder_icon, 0);
+      if (iconResId != 0) {
+        iconState = getConstantState(ContextCompat.getDrawable(context, iconResId));
+      }
+      int actionAllCaps = UNSET;
+      if (attrs.hasValue(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionAllCaps)) {
+        actionAllCaps = attrs.getBoolean(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionAllCaps, true) ? 1 : 0;
+      }
+      return new Style(
+          attrs.getColor(R.styleable.SnackbarBuilderStyle_snackbarBuilder_backgroundColor, 0),
+          attrs.getColor(R.styleable.SnackbarBuilderStyle_snackbarBuilder_messageTextColor, 0),
+          attrs.getColor(R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionTextColor, 0),
+          iconState,
+          attrs.getDimensionPixelSize(R.styleable.SnackbarBuilderStyle_snackbarBuilder_iconMargin, UNSET),
+          attrs.getInteger(R.styleable.SnackbarBuilderStyle_snackbarBuilder_duration, UNSET),
+          actionAllCaps,
+          getTypeface(context, attrs, R.styleable.SnackbarBuilderStyle_snackbarBuilder_messageFont),
+          getTypeface(context, attrs, R.styleable.SnackbarBuilderStyle_snackbarBuilder_actionFont));
+    }
+
+    static Style from(SnackbarBuilder builder) {
+      return new Style(builder.backgroundColor, builder.messageTextColor, builder.actionTextColor,
+          getConstantState(builder.icon), builder.iconMargin, builder.duration, builder.actionAllCaps ? 1 : 0,
+          builder.typeface, builder.actionTypeface);
+    }
+
+    private static Typeface getTypeface(Context context, TypedArray attrs, int index) {
+      int fontResId = attrs.getResourceId(index, 0);
+      return fontResId != 0 ? TypefaceCache.get(context, fontResId) : null;
+    }
+
+    private static Drawable.ConstantState getConstantState(Drawable drawable) {
+      return drawable != null ? drawable.getConstantState() : null;
+    }
+
+    void applyTo(SnackbarBuilder builder) {
+      if (backgroundColor != 0) {
+        builder.backgroundColor = backgroundColor;
+      }
+      if (messageTextColor != 0) {
+        builder.messageTextColor = messageTextColor;
+      }
+      if (actionTextColor != 0) {
+        builder.actionTextColor = actionTextColor;
+      }
+      if (iconState != null) {
+        Resources resources = builder.context.getResources();
+        builder.icon = iconState.newDrawable(resources);
+        builder.iconResId = 0;
+      }
+      if (iconMargin != UNSET) {
+        builder.iconMargin = iconMargin;
+      }
+      if (duration != UNSET) {
+        builder.duration = duration;
+      }
+      if (actionAllCaps != UNSET) {
+        builder.actionAllCaps = actionAllCaps == 1;
+      }
+      if (typeface != null) {
+        builder.typeface = typeface;
+      }
+      if (actionTypeface != null) {
+        builder.actionTypeface = actionTypeface;
+      }
+    }
+  }
+
+}
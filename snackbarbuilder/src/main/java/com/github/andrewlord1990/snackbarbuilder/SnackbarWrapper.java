@@ -18,7 +18,12 @@ package com.github.andrewlord1990.snackbarbuilder;
 
 import android.content.Context;
 import android.content.res.ColorStateList;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.AsyncTask;
+import android.os.Build;
+import android.os.SystemClock;
 import android.text.Spannable;
 import android.text.SpannableString;
 import android.text.style.ForegroundColorSpan;
@@ -31,11 +36,13 @@ import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
 import com.google.android.material.snackbar.Snackbar;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
 import androidx.annotation.DimenRes;
 import androidx.annotation.DrawableRes;
+import androidx.annotation.FontRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.StringRes;
 import androidx.core.content.ContextCompat;
@@ -49,12 +56,28 @@ import androidx.core.content.ContextCompat;
  */
 public final class SnackbarWrapper {
 
+  // Durations the Snackbar uses for LENGTH_LONG and LENGTH_SHORT
+  private static final long LONG_DURATION_MILLIS = 2750;
+  private static final long SHORT_DURATION_MILLIS = 1500;
+
+  /**
+   * The default maximum time that showing a Snackbar can be deferred for, while waiting for a frame that is not
+   * already over budget.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final long DEFAULT_MAX_SHOW_DEFERRAL_MILLIS = 100;
+
   Context context;
 
   private final Snackbar snackbar;
-  private final TextView messageView;
-  private final Button actionView;
-  private final TextViewExtension actionViewExtension;
+  private TextView messageView;
+  private Button actionView;
+  Snackbar.Callback visibilityTracker;
+  private SnackbarResult result;
+  private long maxShowDeferralMillis;
+  // A FrameAlignedShow, which is only available from API 16
+  private Object frameAlignedShow;
+  private long shownAtMillis;
 
   /**
    * Create by wrapping a Snackbar.
@@ -64,9 +87,6 @@ public final class SnackbarWrapper {
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper(Snackbar snackbar) {
     this.snackbar = snackbar;
-    messageView = (TextView) getView().findViewById(R.id.snackbar_text);
-    actionView = (Button) getView().findViewById(R.id.snackbar_action);
-    actionViewExtension = TextViewExtension.from(actionView);
     context = snackbar.getView().getContext();
   }
 
@@ -89,6 +109,21 @@ public final class SnackbarWrapper {
     return snackbar.getView();
   }
 
+  // The views are only looked up when first needed, so wrapping a Snackbar does not traverse its view hierarchy
+  private TextView getMessageView() {
+    if (messageView == null) {
+      messageView = (TextView) getView().findViewById(R.id.snackbar_text);
+    }
+    return messageView;
+  }
+
+  private Button getActionView() {
+    if (actionView == null) {
+      actionView = (Button) getView().findViewById(R.id.snackbar_action);
+    }
+    return actionView;
+  }
+
   /**
    * Get the action displayed in the Snackbar.
    *
@@ -96,7 +131,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public CharSequence getActionText() {
-    return actionView.getText();
+    return getActionView().getText();
   }
 
   /**
@@ -108,7 +143,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionText(@StringRes int actionText) {
-    actionView.setText(actionText);
+    getActionView().setText(actionText);
     return this;
   }
 
@@ -121,7 +156,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionText(CharSequence actionText) {
-    actionView.setText(actionText);
+    getActionView().setText(actionText);
     return this;
   }
 
@@ -134,7 +169,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionClickListener(OnClickListener actionClickListener) {
-    actionView.setOnClickListener(actionClickListener);
+    getActionView().setOnClickListener(actionClickListener);
     return this;
   }
 
@@ -173,7 +208,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public ColorStateList getActionTextColors() {
-    return actionView.getTextColors();
+    return getActionView().getTextColors();
   }
 
   /**
@@ -184,7 +219,7 @@ public final class SnackbarWrapper {
   @ColorInt
   @SuppressWarnings("WeakerAccess")
   public int getActionCurrentTextColor() {
-    return actionView.getCurrentTextColor();
+    return getActionView().getCurrentTextColor();
   }
 
   /**
@@ -209,7 +244,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextColor(@ColorInt int color) {
-    snackbar.setActionTextColor(color);
+    ColorStateLists.setTextColor(getActionView(), color);
     return this;
   }
 
@@ -222,8 +257,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextColorRes(@ColorRes int color) {
-    snackbar.setActionTextColor(ContextCompat.getColor(context, color));
-    return this;
+    return setActionTextColor(ContextCompat.getColor(context, color));
   }
 
   /**
@@ -233,7 +267,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public int getActionVisibility() {
-    return actionView.getVisibility();
+    return getActionView().getVisibility();
   }
 
   /**
@@ -245,7 +279,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionVisibility(int visibility) {
-    actionView.setVisibility(visibility);
+    getActionView().setVisibility(visibility);
     return this;
   }
 
@@ -257,7 +291,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setActionTextAllCaps(boolean allCaps) {
-    actionViewExtension.setAllCaps(allCaps);
+    TextViewExtension.setAllCaps(getActionView(), allCaps);
     return this;
   }
 
@@ -268,7 +302,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public CharSequence getText() {
-    return messageView.getText();
+    return getMessageView().getText();
   }
 
   /**
@@ -304,7 +338,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public ColorStateList getTextColors() {
-    return messageView.getTextColors();
+    return getMessageView().getTextColors();
   }
 
   /**
@@ -315,7 +349,7 @@ public final class SnackbarWrapper {
   @ColorInt
   @SuppressWarnings("WeakerAccess")
   public int getCurrentTextColor() {
-    return messageView.getCurrentTextColor();
+    return getMessageView().getCurrentTextColor();
   }
 
   /**
@@ -327,7 +361,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setTextColor(@ColorInt int color) {
-    messageView.setTextColor(color);
+    ColorStateLists.setTextColor(getMessageView(), color);
     return this;
   }
 
@@ -340,7 +374,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setTextColor(ColorStateList colors) {
-    messageView.setTextColor(colors);
+    getMessageView().setTextColor(colors);
     return this;
   }
 
@@ -353,10 +387,59 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setTextColorRes(@ColorRes int color) {
-    messageView.setTextColor(ContextCompat.getColor(context, color));
+    return setTextColor(ContextCompat.getColor(context, color));
+  }
+
+  /**
+   * Set the typeface of the message.
+   *
+   * @param typeface The typeface.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setTypeface(Typeface typeface) {
+    getMessageView().setTypeface(typeface);
     return this;
   }
 
+  /**
+   * Set the typeface of the message from a font resource. Fonts are only loaded once and then shared by all Snackbars.
+   *
+   * @param fontResId The font resource.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setTypefaceRes(@FontRes int fontResId) {
+    return setTypeface(TypefaceCache.get(context, fontResId));
+  }
+
+  /**
+   * Set the typeface of the action.
+   *
+   * @param typeface The typeface.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setActionTypeface(Typeface typeface) {
+    getActionView().setTypeface(typeface);
+    return this;
+  }
+
+  /**
+   * Set the typeface of the action from a font resource. Fonts are only loaded once and then shared by all Snackbars.
+   *
+   * @param fontResId The font resource.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setActionTypefaceRes(@FontRes int fontResId) {
+    return setActionTypeface(TypefaceCache.get(context, fontResId));
+  }
+
   /**
    * Append text to the Snackbar message.
    *
@@ -366,7 +449,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper appendMessage(@NonNull CharSequence message) {
-    messageView.append(message);
+    getMessageView().append(message);
     return this;
   }
 
@@ -395,7 +478,7 @@ public final class SnackbarWrapper {
     Spannable spannable = new SpannableString(message);
     spannable.setSpan(new ForegroundColorSpan(color), 0, spannable.length(),
         Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
-    messageView.append(spannable);
+    getMessageView().append(spannable);
     return this;
   }
 
@@ -421,7 +504,7 @@ public final class SnackbarWrapper {
    */
   @SuppressWarnings("WeakerAccess")
   public int getMessageVisibility() {
-    return messageView.getVisibility();
+    return getMessageView().getVisibility();
   }
 
   /**
@@ -433,7 +516,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setMessageVisibility(int visibility) {
-    messageView.setVisibility(visibility);
+    getMessageView().setVisibility(visibility);
     return this;
   }
 
@@ -447,6 +530,40 @@ public final class SnackbarWrapper {
     return snackbar.getDuration();
   }
 
+  /**
+   * Get how much longer the Snackbar will be shown for before it times out. This is only tracked for Snackbars shown
+   * through show() on this wrapper; before being shown and after being dismissed it is the total duration.
+   *
+   * @return The remaining time in milliseconds, or Long.MAX_VALUE if the Snackbar is shown until dismissed.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public long getRemainingMillis() {
+    int duration = snackbar.getDuration();
+    if (duration == Snackbar.LENGTH_INDEFINITE) {
+      return Long.MAX_VALUE;
+    }
+    long totalMillis = toMillis(duration);
+    if (shownAtMillis == 0) {
+      return totalMillis;
+    }
+    return Math.max(0, totalMillis - (SystemClock.uptimeMillis() - shownAtMillis));
+  }
+
+  boolean isTimerRunning() {
+    return shownAtMillis != 0;
+  }
+
+  static long toMillis(int duration) {
+    switch (duration) {
+      case Snackbar.LENGTH_LONG:
+        return LONG_DURATION_MILLIS;
+      case Snackbar.LENGTH_SHORT:
+        return SHORT_DURATION_MILLIS;
+      default:
+        return duration;
+    }
+  }
+
   /**
    * Set the total time to show the Snackbar for.
    *
@@ -462,7 +579,7 @@ public final class SnackbarWrapper {
   }
 
   /**
-   * Set the background color of the Snackbar.
+   * Set the background color of the Snackbar. From API 21 the background is tinted, keeping its shape.
    *
    * @param color The background color.
    * @return This instance.
@@ -470,12 +587,12 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setBackgroundColor(@ColorInt int color) {
-    getView().setBackgroundColor(color);
+    ColorStateLists.setBackgroundColor(getView(), color);
     return this;
   }
 
   /**
-   * Set the background color of the Snackbar.
+   * Set the background color of the Snackbar. From API 21 the background is tinted, keeping its shape.
    *
    * @param color The background color resource.
    * @return This instance.
@@ -483,8 +600,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setBackgroundColorRes(@ColorRes int color) {
-    getView().setBackgroundColor(ContextCompat.getColor(context, color));
-    return this;
+    return setBackgroundColor(ContextCompat.getColor(context, color));
   }
 
   /**
@@ -516,6 +632,21 @@ public final class SnackbarWrapper {
     return this;
   }
 
+  /**
+   * Adds multiple callbacks to the Snackbar for various events.
+   *
+   * @param callbacks The callbacks to be added.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper addCallbacks(Snackbar.Callback... callbacks) {
+    for (Snackbar.Callback callback : callbacks) {
+      addCallback(callback);
+    }
+    return this;
+  }
+
   /**
    * Add a SnackbarCallback to the Snackbar for various events.
    *
@@ -551,10 +682,75 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setIcon(Drawable icon) {
-    messageView.setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
+    UriIconLoader.cancel(getMessageView());
+    getMessageView().setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
     return this;
   }
 
+  /**
+   * Set an icon loaded from a file, content or asset Uri at the start of the Snackbar, at the default icon size. The
+   * image is decoded in the background, downsampled to the icon size, and set once it has loaded. Loaded icons are
+   * cached in memory and on disk.
+   *
+   * @param uri The Uri of the icon image. Assets are loaded from file:///android_asset/ Uris.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setIcon(Uri uri) {
+    return setIcon(uri, AsyncTask.THREAD_POOL_EXECUTOR);
+  }
+
+  /**
+   * Set an icon loaded from a file, content or asset Uri at the start of the Snackbar, at the default icon size. The
+   * image is decoded on the executor, downsampled to the icon size, and set once it has loaded. Loaded icons are
+   * cached in memory and on disk.
+   *
+   * @param uri      The Uri of the icon image. Assets are loaded from file:///android_asset/ Uris.
+   * @param executor The executor to load the icon on.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setIcon(Uri uri, Executor executor) {
+    int sizePixels = context.getResources().getDimensionPixelSize(R.dimen.snackbarbuilder_icon_size_default);
+    Drawable cachedIcon = UriIconLoader.getCached(context.getResources(), uri, sizePixels);
+    if (cachedIcon != null) {
+      return setIcon(cachedIcon);
+    }
+    UriIconLoader.load(context, uri, sizePixels, executor, getMessageView());
+    return this;
+  }
+
+  /**
+   * Set a vector drawable icon at the start of the Snackbar, at the default icon size. The vector is rasterised once
+   * into a bitmap, which is shared by every Snackbar that uses it at the same size and density.
+   *
+   * @param vectorResId The vector drawable resource of the icon.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setVectorIcon(@DrawableRes int vectorResId) {
+    return setVectorIcon(vectorResId,
+        context.getResources().getDimensionPixelSize(R.dimen.snackbarbuilder_icon_size_default), 0);
+  }
+
+  /**
+   * Set a vector drawable icon at the start of the Snackbar. The vector is rasterised once into a bitmap, which is
+   * shared by every Snackbar that uses it at the same size, density and tint.
+   *
+   * @param vectorResId The vector drawable resource of the icon.
+   * @param sizePixels  The width and height of the icon.
+   * @param tint        The color to tint the icon, or 0 to leave it as it is.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setVectorIcon(@DrawableRes int vectorResId, int sizePixels, @ColorInt int tint) {
+    return setIcon(VectorIconCache.get(context, vectorResId, sizePixels, tint));
+  }
+
   /**
    * Set the margin to be displayed between the icon and the text.
    *
@@ -564,7 +760,7 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper setIconMargin(int iconMarginPixels) {
-    messageView.setCompoundDrawablePadding(iconMarginPixels);
+    getMessageView().setCompoundDrawablePadding(iconMarginPixels);
     return this;
   }
 
@@ -588,10 +784,99 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper show() {
-    snackbar.show();
+    trackVisibility();
+    if (maxShowDeferralMillis > 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      if (frameAlignedShow == null) {
+        frameAlignedShow = new FrameAlignedShow(snackbar);
+      }
+      ((FrameAlignedShow) frameAlignedShow).schedule(maxShowDeferralMillis);
+    } else {
+      snackbar.show();
+    }
     return this;
   }
 
+  /**
+   * Restart the timeout of the Snackbar if it is showing, so that it is shown for its full duration again from now.
+   * The Snackbar is not animated or laid out again. If it is queued to be shown next, its duration is updated.
+   *
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper restartTimeout() {
+    if (snackbar.isShownOrQueued()) {
+      // Showing the current Snackbar again only reschedules its timeout
+      if (snackbar.isShown()) {
+        shownAtMillis = SystemClock.uptimeMillis();
+      }
+      snackbar.show();
+    }
+    return this;
+  }
+
+  /**
+   * Set whether show() should wait for the start of the next frame before showing the Snackbar, rather than adding to
+   * the cost of the frame currently being produced. If that frame is already over budget, showing is deferred to the
+   * following frame, for at most the maximum deferral. Only has an effect from API 16.
+   *
+   * @param maxDeferralMillis The maximum time in milliseconds to defer showing for, or 0 to show straight away.
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper setMaxShowDeferral(long maxDeferralMillis) {
+    maxShowDeferralMillis = maxDeferralMillis;
+    return this;
+  }
+
+  /**
+   * Get the maximum time that show() defers showing the Snackbar for while waiting for a frame.
+   *
+   * @return The maximum deferral in milliseconds, or 0 if the Snackbar is shown straight away.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public long getMaxShowDeferral() {
+    return maxShowDeferralMillis;
+  }
+
+  /**
+   * Show the Snackbar, getting the result of it being dismissed. While a previous result is still waiting, the same
+   * result is returned rather than registering another callback.
+   *
+   * @return The result, which completes with the event that caused the Snackbar to be dismissed.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarResult showForResult() {
+    if (result == null || result.isDone()) {
+      if (result != null) {
+        snackbar.removeCallback(result);
+      }
+      result = new SnackbarResult(snackbar);
+      snackbar.addCallback(result);
+    }
+    show();
+    return result;
+  }
+
+  private void trackVisibility() {
+    if (visibilityTracker == null) {
+      visibilityTracker = new Snackbar.Callback() {
+        @Override
+        public void onShown(Snackbar sb) {
+          shownAtMillis = SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void onDismissed(Snackbar sb, int event) {
+          shownAtMillis = 0;
+        }
+      };
+      snackbar.addCallback(visibilityTracker);
+    }
+  }
+
   /**
    * Dismiss the Snackbar.
    *
@@ -600,6 +885,9 @@ public final class SnackbarWrapper {
   @NonNull
   @SuppressWarnings("WeakerAccess")
   public SnackbarWrapper dismiss() {
+    if (frameAlignedShow != null) {
+      ((FrameAlignedShow) frameAlignedShow).cancel();
+    }
     snackbar.dismiss();
     return this;
   }
@@ -28,14 +28,18 @@ final class TextViewExtension {
     this.textView = textView;
   }
 
-  @SuppressLint("NewApi")
   void setAllCaps(boolean allCaps) {
+    setAllCaps(textView, allCaps);
+  }
+
+  @SuppressLint("NewApi")
+  static void setAllCaps(TextView textView, boolean allCaps) {
     if (isApiAtLeast14()) {
       textView.setAllCaps(allCaps);
     }
   }
 
-  private boolean isApiAtLeast14() {
+  private static boolean isApiAtLeast14() {
     return Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH;
   }
 
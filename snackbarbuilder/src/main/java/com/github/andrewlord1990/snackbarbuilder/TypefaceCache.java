@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.util.SparseArray;
+
+import androidx.annotation.FontRes;
+import androidx.core.content.res.ResourcesCompat;
+
+/**
+ * Process-wide cache of the Typefaces loaded from font resources, so that each font file is only loaded once however
+ * many Snackbars use it.
+ */
+final class TypefaceCache {
+
+  private static final SparseArray<Typeface> CACHE = new SparseArray<>();
+
+  private TypefaceCache() {
+    // Not to be instantiated
+  }
+
+  static Typeface get(Context context, @FontRes int fontResId) {
+    synchronized (CACHE) {
+      Typeface typeface = CACHE.get(fontResId);
+      if (typeface != null) {
+        return typeface;
+      }
+    }
+    Typeface typeface = ResourcesCompat.getFont(context, fontResId);
+    if (typeface != null) {
+      synchronized (CACHE) {
+        CACHE.put(fontResId, typeface);
+      }
+    }
+    return typeface;
+  }
+
+  static void put(@FontRes int fontResId, Typeface typeface) {
+    synchronized (CACHE) {
+      CACHE.put(fontResId, typeface);
+    }
+  }
+
+  static void clear() {
+    synchronized (CACHE) {
+      CACHE.clear();
+    }
+  }
+
+}
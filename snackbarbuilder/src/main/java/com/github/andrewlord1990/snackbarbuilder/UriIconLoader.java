@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads icons from file, content and asset Uris off the main thread, downsampled and centre cropped to the icon size.
+ * Decoded icons are kept in a memory cache. Icons from files and assets are also written to a disk cache in the app's
+ * cache directory, so that they are only decoded from their source once. Content Uris are not cached on disk, as their
+ * content can change without the cached copy being able to tell.
+ */
+final class UriIconLoader {
+
+  private static final String ASSET_PATH_PREFIX = "/android_asset/";
+  private static final String DISK_CACHE_DIRECTORY = "snackbarbuilder_icons";
+  private static final long MAX_DISK_CACHE_BYTES = 4 * 1024 * 1024;
+  private static final int MAX_MEMORY_CACHE_BYTES = 1024 * 1024;
+  private static final LruCache<String, Bitmap> CACHE = new LruCache<String, Bitmap>(MAX_MEMORY_CACHE_BYTES) {
+    @Override
+    protected int sizeOf(String key, Bitmap bitmap) {
+      return bitmap.getByteCount();
+    }
+  };
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private UriIconLoader() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Get an icon that has already been loaded, without touching the disk.
+   *
+   * @return The icon, or null if it is not in the memory cache.
+   */
+  static Drawable getCached(Resources resources, Uri uri, int sizePixels) {
+    Bitmap bitmap = CACHE.get(key(uri, sizePixels));
+    return bitmap != null ? new BitmapDrawable(resources, bitmap) : null;
+  }
+
+  /**
+   * Load an icon on the executor and set it as the icon of the message view, on the main thread, once it is ready. If
+   * another icon is set on the same view in the meantime, the loaded one is not set.
+   */
+  static void load(Context context, Uri uri, int sizePixels, Executor executor, TextView messageView) {
+    messageView.setTag(R.id.snackbarbuilder_icon_uri, uri);
+    executor.execute(new LoadIcon(context.getApplicationContext(), uri, sizePixels, messageView));
+  }
+
+  /**
+   * Stop an icon that is still loading from being set on the message view.
+   */
+  static void cancel(TextView messageView) {
+    messageView.setTag(R.id.snackbarbuilder_icon_uri, null);
+  }
+
+  static void put(Uri uri, int sizePixels, Bitmap bitmap) {
+    CACHE.put(key(uri, sizePixels), bitmap);
+  }
+
+  static void clear() {
+    CACHE.evictAll();
+  }
+
+  /**
+   * Calculate the largest power of two to sample an image by, which keeps both of its sides at least as large as the
+   * icon.
+   */
+  static int calculateSampleSize(int width, int height, int sizePixels) {
+    int sampleSize = 1;
+    while (width / (sampleSize * 2) >= sizePixels && height / (sampleSize * 2) >= sizePixels) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  static File getDiskCacheFile(Context context, Uri uri, int sizePixels) {
+    // Hashed so that different Uris never share a file, which would show one user's image for another
+    String name = sha1(uri.toString()) + "_" + sizePixels + ".png";
+    return new File(new File(context.getCacheDir(), DISK_CACHE_DIRECTORY), name);
+  }
+
+  private static String sha1(String text) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 is not available", e);
+    }
+    byte[] hash = digest.digest(text.getBytes(Charset.forName("UTF-8")));
+    char[] hex = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+      hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+    }
+    return new String(hex);
+  }
+
+  private static String key(Uri uri, int sizePixels) {
+    return sizePixels + ":" + uri;
+  }
+
+  private static Bitmap loadBitmap(Context context, Uri uri, int sizePixels) throws IOException {
+    String key = key(uri, sizePixels);
+    Bitmap bitmap = CACHE.get(key);
+    if (bitmap != null) {
+      return bitmap;
+    }
+    File cacheFile = isFile(uri) ? getDiskCacheFile(context, uri, sizePixels) : null;
+    if (cacheFile != null && isDiskCacheValid(uri, cacheFile)) {
+      bitmap = BitmapFactory.decodeFile(cacheFile.getPath());
+    }
+    if (bitmap == null) {
+      bitmap = decode(context, uri, sizePixels);
+      if (bitmap == null) {
+        return null;
+      }
+      if (cacheFile != null) {
+        writeDiskCache(cacheFile, bitmap);
+      }
+    }
+    CACHE.put(key, bitmap);
+    return bitmap;
+  }
+
+  private static boolean isDiskCacheValid(Uri uri, File cacheFile) {
+    if (!cacheFile.exists()) {
+      return false;
+    }
+    // Local files can change in place, so only trust the cached copy if it is newer than the file
+    return isAsset(uri) || new File(uri.getPath()).lastModified() <= cacheFile.lastModified();
+  }
+
+  private static Bitmap decode(Context context, Uri uri, int sizePixels) throws IOException {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    decodeStream(context, uri, options);
+    if (options.outWidth <= 0 || options.outHeight <= 0) {
+      return null;
+    }
+    options.inSampleSize = calculateSampleSize(options.outWidth, options.outHeight, sizePixels);
+    options.inJustDecodeBounds = false;
+    Bitmap sampled = decodeStream(context, uri, options);
+    if (sampled == null) {
+      return null;
+    }
+    return centreCrop(sampled, sizePixels);
+  }
+
+  /**
+   * Scale a bitmap so that its shorter side is the icon size, keeping its aspect ratio, and crop the middle of its
+   * longer side.
+   */
+  static Bitmap centreCrop(Bitmap bitmap, int sizePixels) {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    if (width == sizePixels && height == sizePixels) {
+      return bitmap;
+    }
+    float scale = (float) sizePixels / Math.min(width, height);
+    int scaledWidth = Math.max(sizePixels, Math.round(width * scale));
+    int scaledHeight = Math.max(sizePixels, Math.round(height * scale));
+    Bitmap scaled = Bitmap.createScaledBitmap(bitmap, scaledWidth, scaledHeight, true);
+    if (scaled != bitmap) {
+      bitmap.recycle();
+    }
+    if (scaledWidth == sizePixels && scaledHeight == sizePixels) {
+      return scaled;
+    }
+    Bitmap cropped = Bitmap.createBitmap(scaled, (scaledWidth - sizePixels) / 2, (scaledHeight - sizePixels) / 2,
+        sizePixels, sizePixels);
+    if (cropped != scaled) {
+      scaled.recycle();
+    }
+    return cropped;
+  }
+
+  private static Bitmap decodeStream(Context context, Uri uri, BitmapFactory.Options options) throws IOException {
+    InputStream input = openStream(context, uri);
+    if (input == null) {
+      return null;
+    }
+    try {
+      return BitmapFactory.decodeStream(input, null, options);
+    } finally {
+      input.close();
+    }
+  }
+
+  private static InputStream openStream(Context context, Uri uri) throws IOException {
+    if (isAsset(uri)) {
+      return context.getAssets().open(uri.getPath().substring(ASSET_PATH_PREFIX.length()));
+    }
+    if (isFile(uri)) {
+      return new FileInputStream(uri.getPath());
+    }
+    return context.getContentResolver().openInputStream(uri);
+  }
+
+  private static boolean isFile(Uri uri) {
+    return "file".equals(uri.getScheme()) && uri.getPath() != null;
+  }
+
+  private static boolean isAsset(Uri uri) {
+    return isFile(uri) && uri.getPath().startsWith(ASSET_PATH_PREFIX);
+  }
+
+  private static void writeDiskCache(File cacheFile, Bitmap bitmap) {
+    File directory = cacheFile.getParentFile();
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      return;
+    }
+    OutputStream output = null;
+    try {
+      output = new FileOutputStream(cacheFile);
+      bitmap.compress(Bitmap.CompressFormat.PNG, 100, output);
+    } catch (IOException e) {
+      cacheFile.delete();
+      return;
+    } finally {
+      closeQuietly(output);
+    }
+    trimDiskCache(directory);
+  }
+
+  private static void trimDiskCache(File directory) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    long totalBytes = 0;
+    for (File file : files) {
+      totalBytes += file.length();
+    }
+    if (totalBytes <= MAX_DISK_CACHE_BYTES) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        long difference = first.lastModified() - second.lastModified();
+        return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+      }
+    });
+    for (int i = 0; i < files.length && totalBytes > MAX_DISK_CACHE_BYTES; i++) {
+      long length = files[i].length();
+      if (files[i].delete()) {
+        totalBytes -= length;
+      }
+    }
+  }
+
+  private static void closeQuietly(OutputStream output) {
+    if (output != null) {
+      try {
+        output.close();
+      } catch (IOException ignored) {
+        // Nothing more to do if the cache file cannot be closed
+      }
+    }
+  }
+
+  private static final class LoadIcon implements Runnable {
+
+    private final Context context;
+    private final Uri uri;
+    private final int sizePixels;
+    private final TextView messageView;
+    private Bitmap bitmap;
+
+    LoadIcon(Context context, Uri uri, int sizePixels, TextView messageView) {
+      this.context = context;
+      this.uri = uri;
+      this.sizePixels = sizePixels;
+      this.messageView = messageView;
+    }
+
+    @Override
+    public void run() {
+      if (bitmap != null) {
+        // Posted back to the main thread once loaded
+        setIcon();
+        return;
+      }
+      try {
+        bitmap = loadBitmap(context, uri, sizePixels);
+      } catch (IOException | SecurityException e) {
+        // The Snackbar is shown without the icon if it cannot be loaded
+        return;
+      }
+      if (bitmap != null) {
+        MAIN_HANDLER.post(this);
+      }
+    }
+
+    private void setIcon() {
+      if (!uri.equals(messageView.getTag(R.id.snackbarbuilder_icon_uri))) {
+        return;
+      }
+      cancel(messageView);
+      Drawable icon = new BitmapDrawable(context.getResources(), bitmap);
+      messageView.setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
+    }
+  }
+
+}
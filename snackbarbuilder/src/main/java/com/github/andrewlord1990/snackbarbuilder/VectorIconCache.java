@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+import android.util.TypedValue;
+
+import java.util.Arrays;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.core.graphics.drawable.DrawableCompat;
+import androidx.vectordrawable.graphics.drawable.VectorDrawableCompat;
+
+/**
+ * Rasterises vector drawable icons into bitmaps, which are cached per resource, size, density, UI mode and tint. Each
+ * vector is only inflated and drawn once, with every Snackbar that uses it sharing the bitmap rather than rendering its
+ * paths again. An untinted vector can take its colours from theme attributes, so it is also cached by the values the
+ * theme gives the common colour attributes, such as colorControlNormal and textColorPrimary. Activities using the same
+ * theme share the bitmap, including after being recreated. A vector that uses any other theme attribute should be
+ * tinted, as a tinted vector is shared across all themes.
+ */
+final class VectorIconCache {
+
+  private static final int MAX_SIZE_BYTES = 1024 * 1024;
+  private static final LruCache<Key, Bitmap> CACHE = new LruCache<Key, Bitmap>(MAX_SIZE_BYTES) {
+    @Override
+    protected int sizeOf(Key key, Bitmap bitmap) {
+      return bitmap.getByteCount();
+    }
+  };
+
+  private static final int[] THEME_ATTRS = {
+      R.attr.colorControlNormal,
+      R.attr.colorControlActivated,
+      R.attr.colorAccent,
+      R.attr.colorPrimary,
+      android.R.attr.textColorPrimary,
+      android.R.attr.textColorSecondary,
+      android.R.attr.colorForeground
+  };
+
+  private VectorIconCache() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Get a vector icon as a BitmapDrawable of the given size.
+   *
+   * @param tint The color to tint the icon, or 0 to leave it as it is.
+   * @throws IllegalArgumentException If the resource is not a vector drawable.
+   */
+  static Drawable get(Context context, @DrawableRes int vectorResId, int sizePixels, @ColorInt int tint) {
+    Resources resources = context.getResources();
+    int density = resources.getDisplayMetrics().densityDpi;
+    int uiMode = resources.getConfiguration().uiMode;
+    int[] theme = tint == 0 ? resolveThemeColors(context.getTheme()) : null;
+    Key key = new Key(vectorResId, sizePixels, density, uiMode, theme, tint);
+    Bitmap bitmap = CACHE.get(key);
+    if (bitmap == null) {
+      bitmap = rasterise(context, vectorResId, sizePixels, tint);
+      bitmap.setDensity(density);
+      CACHE.put(key, bitmap);
+    }
+    return new BitmapDrawable(resources, bitmap);
+  }
+
+  static void clear() {
+    CACHE.evictAll();
+  }
+
+  private static int[] resolveThemeColors(Resources.Theme theme) {
+    int[] values = new int[THEME_ATTRS.length * 2];
+    TypedValue value = new TypedValue();
+    for (int i = 0; i < THEME_ATTRS.length; i++) {
+      if (theme.resolveAttribute(THEME_ATTRS[i], value, true)) {
+        values[i * 2] = value.type;
+        values[i * 2 + 1] = value.resourceId != 0 ? value.resourceId : value.data;
+      }
+    }
+    return values;
+  }
+
+  private static Bitmap rasterise(Context context, @DrawableRes int vectorResId, int sizePixels, @ColorInt int tint) {
+    VectorDrawableCompat vector = VectorDrawableCompat.create(context.getResources(), vectorResId,
+        context.getTheme());
+    if (vector == null) {
+      throw new IllegalArgumentException("Resource is not a vector drawable: " + vectorResId);
+    }
+    if (tint != 0) {
+      DrawableCompat.setTint(vector, tint);
+    }
+    Bitmap bitmap = Bitmap.createBitmap(sizePixels, sizePixels, Bitmap.Config.ARGB_8888);
+    vector.setBounds(0, 0, sizePixels, sizePixels);
+    vector.draw(new Canvas(bitmap));
+    return bitmap;
+  }
+
+  static final class Key {
+
+    private final int resId;
+    private final int sizePixels;
+    private final int density;
+    private final int uiMode;
+    private final int[] theme;
+    private final int tint;
+
+    Key(int resId, int sizePixels, int density, int uiMode, int[] theme, int tint) {
+      this.resId = resId;
+      this.sizePixels = sizePixels;
+      this.density = density;
+      this.uiMode = uiMode;
+      this.theme = theme;
+      this.tint = tint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return resId == key.resId && sizePixels == key.sizePixels && density == key.density && uiMode == key.uiMode
+          && tint == key.tint && Arrays.equals(theme, key.theme);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = resId;
+      result = 31 * result + sizePixels;
+      result = 31 * result + density;
+      result = 31 * result + uiMode;
+      result = 31 * result + Arrays.hashCode(theme);
+      result = 31 * result + tint;
+      return result;
+    }
+  }
+
+}
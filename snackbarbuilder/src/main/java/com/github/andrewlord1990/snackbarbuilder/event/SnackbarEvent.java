@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import androidx.annotation.Nullable;
+
+/**
+ * An immutable record of a Snackbar lifecycle event, published through SnackbarEvents. Timestamps are taken from
+ * SystemClock.uptimeMillis(), so they can be compared with each other but not with wall clock time.
+ */
+public final class SnackbarEvent {
+
+  /**
+   * The Snackbar has been shown (made visible).
+   */
+  public static final int TYPE_SHOWN = 0;
+
+  /**
+   * The Snackbar has been dismissed.
+   */
+  public static final int TYPE_DISMISSED = 1;
+
+  /**
+   * The dismiss event for events that are not dismissals.
+   */
+  public static final int NO_DISMISS_EVENT = -1;
+
+  private final int type;
+  private final int dismissEvent;
+  private final String messageKey;
+  private final long shownAtMillis;
+  private final long timestampMillis;
+
+  SnackbarEvent(int type, int dismissEvent, @Nullable String messageKey, long shownAtMillis, long timestampMillis) {
+    this.type = type;
+    this.dismissEvent = dismissEvent;
+    this.messageKey = messageKey;
+    this.shownAtMillis = shownAtMillis;
+    this.timestampMillis = timestampMillis;
+  }
+
+  /**
+   * Get the type of event, either TYPE_SHOWN or TYPE_DISMISSED.
+   *
+   * @return The event type.
+   */
+  public int getType() {
+    return type;
+  }
+
+  /**
+   * Get the reason the Snackbar was dismissed. This is one of the Snackbar.Callback DISMISS_EVENT constants, or
+   * NO_DISMISS_EVENT if this is not a dismissal.
+   *
+   * @return The dismiss event.
+   */
+  public int getDismissEvent() {
+    return dismissEvent;
+  }
+
+  /**
+   * Get the key identifying the message shown on the Snackbar. This is the key set through
+   * SnackbarBuilder.messageKey(String), or the template for messages set through SnackbarBuilder.messageTemplate().
+   *
+   * @return The message key, or null if one was not set.
+   */
+  @Nullable
+  public String getMessageKey() {
+    return messageKey;
+  }
+
+  /**
+   * Get the time at which the Snackbar was shown, or 0 if it was dismissed before ever being shown.
+   *
+   * @return The uptime in milliseconds at which the Snackbar was shown.
+   */
+  public long getShownAtMillis() {
+    return shownAtMillis;
+  }
+
+  /**
+   * Get the time at which this event happened.
+   *
+   * @return The uptime in milliseconds of the event.
+   */
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+
+  /**
+   * Get how long the Snackbar was visible for. This is 0 for shown events and for Snackbars that were dismissed
+   * before being shown.
+   *
+   * @return The visible duration in milliseconds.
+   */
+  public long getDurationMillis() {
+    if (type != TYPE_DISMISSED || shownAtMillis == 0) {
+      return 0;
+    }
+    return timestampMillis - shownAtMillis;
+  }
+
+}
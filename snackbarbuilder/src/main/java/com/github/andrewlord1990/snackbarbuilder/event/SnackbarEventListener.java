@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import java.util.List;
+
+/**
+ * A subscriber to SnackbarEvents. Events are delivered on the main thread in batches, at most once per frame.
+ */
+public interface SnackbarEventListener {
+
+  /**
+   * Notifies of the Snackbar events that have happened since the previous batch, in the order they happened. The
+   * list is reused between batches, so copy it if you need to hold onto it; the events themselves are immutable.
+   *
+   * @param events The events.
+   */
+  void onSnackbarEvents(List<SnackbarEvent> events);
+
+}
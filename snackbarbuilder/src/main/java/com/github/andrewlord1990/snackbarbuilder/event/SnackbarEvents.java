@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A global stream of Snackbar lifecycle events. Every Snackbar created through SnackbarBuilder while there is at least
+ * one subscriber publishes an event when it is shown and when it is dismissed, so telemetry can be collected without
+ * registering a callback on each Snackbar. Subscribing and publishing are lock-free. Subscribers are notified on the
+ * main thread with all of the events that happened during a frame in a single batch.
+ */
+public final class SnackbarEvents {
+
+  private static final SnackbarEventListener[] NO_LISTENERS = new SnackbarEventListener[0];
+
+  private static final AtomicReference<SnackbarEventListener[]> LISTENERS = new AtomicReference<>(NO_LISTENERS);
+  private static final ConcurrentLinkedQueue<SnackbarEvent> PENDING = new ConcurrentLinkedQueue<>();
+  private static final AtomicBoolean DISPATCH_SCHEDULED = new AtomicBoolean();
+  private static final List<SnackbarEvent> BATCH = new ArrayList<>();
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+  private static final Runnable SCHEDULE_RUNNABLE = new Runnable() {
+    @Override
+    public void run() {
+      scheduleDispatch();
+    }
+  };
+  private static final Runnable DISPATCH_RUNNABLE = new Runnable() {
+    @Override
+    public void run() {
+      dispatchPending();
+    }
+  };
+
+  private static Object frameCallback;
+
+  private SnackbarEvents() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Subscribe to be notified of Snackbar events. Subscribing the same listener more than once has no effect.
+   *
+   * @param listener The listener to notify.
+   */
+  public static void subscribe(@NonNull SnackbarEventListener listener) {
+    while (true) {
+      SnackbarEventListener[] current = LISTENERS.get();
+      if (indexOf(current, listener) >= 0) {
+        return;
+      }
+      SnackbarEventListener[] updated = new SnackbarEventListener[current.length + 1];
+      System.arraycopy(current, 0, updated, 0, current.length);
+      updated[current.length] = listener;
+      if (LISTENERS.compareAndSet(current, updated)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Stop being notified of Snackbar events.
+   *
+   * @param listener The listener to remove.
+   */
+  public static void unsubscribe(@NonNull SnackbarEventListener listener) {
+    while (true) {
+      SnackbarEventListener[] current = LISTENERS.get();
+      int index = indexOf(current, listener);
+      if (index < 0) {
+        return;
+      }
+      SnackbarEventListener[] updated = NO_LISTENERS;
+      if (current.length > 1) {
+        updated = new SnackbarEventListener[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+      }
+      if (LISTENERS.compareAndSet(current, updated)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get whether anyone is subscribed to Snackbar events. SnackbarBuilder only tracks the Snackbars it builds while
+   * this is true.
+   *
+   * @return Whether there are any subscribers.
+   */
+  public static boolean hasSubscribers() {
+    return LISTENERS.get().length > 0;
+  }
+
+  /**
+   * Create a callback that publishes events for the Snackbar it is added to. SnackbarBuilder adds one of these
+   * automatically, this is only needed to track Snackbars created some other way.
+   *
+   * @param messageKey The key identifying the message shown on the Snackbar.
+   * @return The callback to add to the Snackbar.
+   */
+  @NonNull
+  public static Snackbar.Callback tracker(@Nullable String messageKey) {
+    return new TrackingCallback(messageKey);
+  }
+
+  static void publish(SnackbarEvent event) {
+    PENDING.offer(event);
+    if (DISPATCH_SCHEDULED.compareAndSet(false, true)) {
+      if (Looper.myLooper() == Looper.getMainLooper()) {
+        scheduleDispatch();
+      } else {
+        MAIN_HANDLER.post(SCHEDULE_RUNNABLE);
+      }
+    }
+  }
+
+  private static void scheduleDispatch() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      postFrameCallback();
+    } else {
+      MAIN_HANDLER.post(DISPATCH_RUNNABLE);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static void postFrameCallback() {
+    if (frameCallback == null) {
+      frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          dispatchPending();
+        }
+      };
+    }
+    Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+  }
+
+  static void dispatchPending() {
+    DISPATCH_SCHEDULED.set(false);
+    SnackbarEvent event = PENDING.poll();
+    while (event != null) {
+      BATCH.add(event);
+      event = PENDING.poll();
+    }
+    if (BATCH.isEmpty()) {
+      return;
+    }
+    try {
+      for (SnackbarEventListener listener : LISTENERS.get()) {
+        listener.onSnackbarEvents(BATCH);
+      }
+    } finally {
+      BATCH.clear();
+    }
+  }
+
+  private static int indexOf(SnackbarEventListener[] listeners, SnackbarEventListener listener) {
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i] == listener) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static final class TrackingCallback extends Snackbar.Callback {
+
+    private final String messageKey;
+    private long shownAtMillis;
+
+    TrackingCallback(String messageKey) {
+      this.messageKey = messageKey;
+    }
+
+    @Override
+    public void onShown(Snackbar snackbar) {
+      shownAtMillis = SystemClock.uptimeMillis();
+      publish(new SnackbarEvent(SnackbarEvent.TYPE_SHOWN, SnackbarEvent.NO_DISMISS_EVENT, messageKey,
+          shownAtMillis, shownAtMillis));
+    }
+
+    @Override
+    public void onDismissed(Snackbar snackbar, int dismissEvent) {
+      publish(new SnackbarEvent(SnackbarEvent.TYPE_DISMISSED, dismissEvent, messageKey,
+          shownAtMillis, SystemClock.uptimeMillis()));
+    }
+  }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Collects statistics about how Snackbars are dismissed and how long they are visible for, from the events published
+ * through SnackbarEvents. Dismissals are counted per dismiss event, overall and per message key, and visible durations
+ * are recorded per message key into a fixed set of histogram buckets. Only Snackbars with a message key set are
+ * counted per key, and at most MAX_MESSAGE_KEYS keys are tracked, with any further keys counted together under
+ * OTHER_MESSAGE_KEY. All counts are kept in primitive arrays, so recording an event does not allocate once a message key
+ * has been seen. Use snapshot() to export the statistics collected so far.
+ */
+public final class SnackbarStatistics implements SnackbarEventListener {
+
+  /**
+   * The number of different dismiss events that are counted, which are indexed by the Snackbar.Callback DISMISS_EVENT
+   * constants.
+   */
+  public static final int DISMISS_EVENT_COUNT = 5;
+
+  private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = {500, 1000, 1500, 2000, 2750, 4000, 6000, 10000};
+
+  /**
+   * The number of visible duration histogram buckets. The last bucket holds every duration above the largest bound.
+   */
+  public static final int BUCKET_COUNT = BUCKET_UPPER_BOUNDS_MILLIS.length + 1;
+
+  /**
+   * The maximum number of message keys that statistics are kept for, including OTHER_MESSAGE_KEY.
+   */
+  public static final int MAX_MESSAGE_KEYS = 64;
+
+  /**
+   * The key that statistics are kept under for every message key beyond the first MAX_MESSAGE_KEYS - 1.
+   */
+  public static final String OTHER_MESSAGE_KEY = "snackbarbuilder:other";
+
+  private final int[] dismissCounts = new int[DISMISS_EVENT_COUNT];
+  private final Map<String, KeyStatistics> keyStatistics = new HashMap<>();
+  private int shownCount;
+
+  /**
+   * Start collecting statistics, by subscribing to SnackbarEvents.
+   *
+   * @return This instance.
+   */
+  @NonNull
+  public SnackbarStatistics start() {
+    SnackbarEvents.subscribe(this);
+    return this;
+  }
+
+  /**
+   * Stop collecting statistics. The statistics collected so far are kept.
+   */
+  public void stop() {
+    SnackbarEvents.unsubscribe(this);
+  }
+
+  /**
+   * Clear all of the statistics collected so far.
+   */
+  public synchronized void reset() {
+    Arrays.fill(dismissCounts, 0);
+    keyStatistics.clear();
+    shownCount = 0;
+  }
+
+  @Override
+  public synchronized void onSnackbarEvents(List<SnackbarEvent> events) {
+    int size = events.size();
+    for (int i = 0; i < size; i++) {
+      record(events.get(i));
+    }
+  }
+
+  private void record(SnackbarEvent event) {
+    KeyStatistics statistics = getKeyStatistics(event.getMessageKey());
+    if (event.getType() == SnackbarEvent.TYPE_SHOWN) {
+      shownCount++;
+      if (statistics != null) {
+        statistics.shownCount++;
+      }
+      return;
+    }
+    int dismissEvent = event.getDismissEvent();
+    if (dismissEvent >= 0 && dismissEvent < DISMISS_EVENT_COUNT) {
+      dismissCounts[dismissEvent]++;
+      if (statistics != null) {
+        statistics.dismissCounts[dismissEvent]++;
+      }
+    }
+    if (statistics != null && event.getShownAtMillis() != 0) {
+      long durationMillis = event.getDurationMillis();
+      statistics.histogram[bucketOf(durationMillis)]++;
+      statistics.totalVisibleMillis += durationMillis;
+    }
+  }
+
+  private KeyStatistics getKeyStatistics(String messageKey) {
+    if (messageKey == null) {
+      return null;
+    }
+    KeyStatistics statistics = keyStatistics.get(messageKey);
+    if (statistics == null) {
+      // Leave room for the other key, so the map never holds more than the maximum
+      if (keyStatistics.size() >= MAX_MESSAGE_KEYS - 1 && !OTHER_MESSAGE_KEY.equals(messageKey)) {
+        messageKey = OTHER_MESSAGE_KEY;
+        statistics = keyStatistics.get(messageKey);
+      }
+      if (statistics == null) {
+        statistics = new KeyStatistics();
+        keyStatistics.put(messageKey, statistics);
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * Take an immutable copy of the statistics collected so far.
+   *
+   * @return The snapshot.
+   */
+  @NonNull
+  public synchronized Snapshot snapshot() {
+    Map<String, KeyStatistics> keys = new HashMap<>();
+    for (Map.Entry<String, KeyStatistics> entry : keyStatistics.entrySet()) {
+      keys.put(entry.getKey(), entry.getValue().copy());
+    }
+    return new Snapshot(shownCount, dismissCounts.clone(), keys);
+  }
+
+  /**
+   * Get the upper bound of a visible duration histogram bucket.
+   *
+   * @param bucket The bucket index.
+   * @return The largest duration in milliseconds counted by the bucket, or Long.MAX_VALUE for the last bucket.
+   */
+  public static long getBucketUpperBoundMillis(int bucket) {
+    if (bucket >= BUCKET_UPPER_BOUNDS_MILLIS.length) {
+      return Long.MAX_VALUE;
+    }
+    return BUCKET_UPPER_BOUNDS_MILLIS[bucket];
+  }
+
+  static int bucketOf(long durationMillis) {
+    for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+      if (durationMillis <= BUCKET_UPPER_BOUNDS_MILLIS[i]) {
+        return i;
+      }
+    }
+    return BUCKET_UPPER_BOUNDS_MILLIS.length;
+  }
+
+  private static final class KeyStatistics {
+
+    final int[] dismissCounts;
+    final int[] histogram;
+    int shownCount;
+    long totalVisibleMillis;
+
+    KeyStatistics() {
+      this(new int[DISMISS_EVENT_COUNT], new int[BUCKET_COUNT]);
+    }
+
+    private KeyStatistics(int[] dismissCounts, int[] histogram) {
+      this.dismissCounts = dismissCounts;
+      this.histogram = histogram;
+    }
+
+    KeyStatistics copy() {
+      KeyStatistics copy = new KeyStatistics(dismissCounts.clone(), histogram.clone());
+      copy.shownCount = shownCount;
+      copy.totalVisibleMillis = totalVisibleMillis;
+      return copy;
+    }
+  }
+
+  /**
+   * An immutable copy of the statistics collected by a SnackbarStatistics at a point in time.
+   */
+  public static final class Snapshot {
+
+    private final int shownCount;
+    private final int[] dismissCounts;
+    private final Map<String, KeyStatistics> keyStatistics;
+
+    Snapshot(int shownCount, int[] dismissCounts, Map<String, KeyStatistics> keyStatistics) {
+      this.shownCount = shownCount;
+      this.dismissCounts = dismissCounts;
+      this.keyStatistics = keyStatistics;
+    }
+
+    /**
+     * Get the message keys that statistics have been collected for.
+     *
+     * @return The message keys.
+     */
+    @NonNull
+    public Set<String> getMessageKeys() {
+      return Collections.unmodifiableSet(keyStatistics.keySet());
+    }
+
+    /**
+     * Get the number of Snackbars that have been shown.
+     *
+     * @return The shown count.
+     */
+    public int getShownCount() {
+      return shownCount;
+    }
+
+    /**
+     * Get the number of Snackbars with a message key that have been shown.
+     *
+     * @param messageKey The message key.
+     * @return The shown count.
+     */
+    public int getShownCount(@Nullable String messageKey) {
+      KeyStatistics statistics = keyStatistics.get(messageKey);
+      return statistics == null ? 0 : statistics.shownCount;
+    }
+
+    /**
+     * Get the number of Snackbars that have been dismissed through a dismiss event.
+     *
+     * @param dismissEvent One of the Snackbar.Callback DISMISS_EVENT constants.
+     * @return The dismiss count.
+     */
+    public int getDismissCount(int dismissEvent) {
+      return dismissCounts[dismissEvent];
+    }
+
+    /**
+     * Get the number of Snackbars with a message key that have been dismissed through a dismiss event.
+     *
+     * @param messageKey   The message key.
+     * @param dismissEvent One of the Snackbar.Callback DISMISS_EVENT constants.
+     * @return The dismiss count.
+     */
+    public int getDismissCount(@Nullable String messageKey, int dismissEvent) {
+      KeyStatistics statistics = keyStatistics.get(messageKey);
+      return statistics == null ? 0 : statistics.dismissCounts[dismissEvent];
+    }
+
+    /**
+     * Get the visible duration histogram for Snackbars with a message key. Each element is the number of Snackbars
+     * visible for up to getBucketUpperBoundMillis(index).
+     *
+     * @param messageKey The message key.
+     * @return A copy of the histogram, with BUCKET_COUNT elements.
+     */
+    @NonNull
+    public int[] getVisibleDurationHistogram(@Nullable String messageKey) {
+      KeyStatistics statistics = keyStatistics.get(messageKey);
+      return statistics == null ? new int[BUCKET_COUNT] : statistics.histogram.clone();
+    }
+
+    /**
+     * Get the total time that Snackbars with a message key have been visible for.
+     *
+     * @param messageKey The message key.
+     * @return The total visible time in milliseconds.
+     */
+    public long getTotalVisibleMillis(@Nullable String messageKey) {
+      KeyStatistics statistics = keyStatistics.get(messageKey);
+      return statistics == null ? 0 : statistics.totalVisibleMillis;
+    }
+  }
+
+}
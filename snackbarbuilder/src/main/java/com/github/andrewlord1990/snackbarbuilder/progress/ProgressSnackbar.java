@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.progress;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.TypedValue;
+import android.view.Choreographer;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Shows progress in a Snackbar, either as a determinate progress bar or as a percentage, next to the message. The
+ * progress can be set from any thread as often as needed, with updates being coalesced so that the Snackbar is only
+ * changed at most once per frame, and without any allocation per update.
+ */
+public final class ProgressSnackbar {
+
+  /**
+   * Show the progress as a determinate progress bar.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final int MODE_BAR = 0;
+
+  /**
+   * Show the progress as a percentage.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static final int MODE_PERCENTAGE = 1;
+
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+  private final SnackbarWrapper wrapper;
+  private final int max;
+  private final ProgressBar progressBar;
+  private final TextView percentageView;
+  // Large enough for "100%"
+  private final char[] percentageText = new char[4];
+  private final AtomicInteger progress = new AtomicInteger();
+  private final AtomicBoolean updateScheduled = new AtomicBoolean();
+  private final Runnable scheduleRunnable = new Runnable() {
+    @Override
+    public void run() {
+      scheduleUpdate();
+    }
+  };
+  private final Runnable updateRunnable = new Runnable() {
+    @Override
+    public void run() {
+      update();
+    }
+  };
+  // A Choreographer.FrameCallback, which is only available from API 16
+  private Object frameCallback;
+  private int shownProgress = -1;
+
+  /**
+   * Add progress to a Snackbar, out of a maximum of 100. Must be called on the main thread.
+   *
+   * @param wrapper The wrapper of the Snackbar to add progress to.
+   * @param mode    How to show the progress, either MODE_BAR or MODE_PERCENTAGE.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public ProgressSnackbar(@NonNull SnackbarWrapper wrapper, int mode) {
+    this(wrapper, mode, 100);
+  }
+
+  /**
+   * Add progress to a Snackbar. Must be called on the main thread.
+   *
+   * @param wrapper The wrapper of the Snackbar to add progress to.
+   * @param mode    How to show the progress, either MODE_BAR or MODE_PERCENTAGE.
+   * @param max     The progress value which represents completion.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public ProgressSnackbar(@NonNull SnackbarWrapper wrapper, int mode, int max) {
+    if (max <= 0) {
+      throw new IllegalArgumentException("The maximum progress must be positive");
+    }
+    this.wrapper = wrapper;
+    this.max = max;
+    TextView messageView = (TextView) wrapper.getView().findViewById(R.id.snackbar_text);
+    Context context = messageView.getContext();
+    Resources resources = context.getResources();
+    LinearLayout.LayoutParams params;
+    if (mode == MODE_BAR) {
+      progressBar = new ProgressBar(context, null, android.R.attr.progressBarStyleHorizontal);
+      progressBar.setMax(max);
+      percentageView = null;
+      params = new LinearLayout.LayoutParams(
+          resources.getDimensionPixelSize(R.dimen.snackbarbuilder_progress_bar_width),
+          ViewGroup.LayoutParams.WRAP_CONTENT);
+    } else {
+      percentageView = new TextView(context);
+      percentageView.setTextColor(messageView.getTextColors());
+      percentageView.setTextSize(TypedValue.COMPLEX_UNIT_PX, messageView.getTextSize());
+      progressBar = null;
+      params = new LinearLayout.LayoutParams(
+          ViewGroup.LayoutParams.WRAP_CONTENT,
+          ViewGroup.LayoutParams.WRAP_CONTENT);
+    }
+    params.gravity = Gravity.CENTER_VERTICAL;
+    int margin = resources.getDimensionPixelSize(R.dimen.snackbarbuilder_progress_margin);
+    params.leftMargin = margin;
+    params.rightMargin = margin;
+    ViewGroup content = (ViewGroup) messageView.getParent();
+    content.addView(getProgressView(), content.indexOfChild(messageView) + 1, params);
+    update();
+  }
+
+  /**
+   * Get the wrapper of the Snackbar the progress is shown in.
+   *
+   * @return The wrapper.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public SnackbarWrapper getWrapper() {
+    return wrapper;
+  }
+
+  /**
+   * Show the Snackbar.
+   *
+   * @return This instance.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public ProgressSnackbar show() {
+    wrapper.show();
+    return this;
+  }
+
+  /**
+   * Get the latest progress that has been set.
+   *
+   * @return The progress.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public int getProgress() {
+    return progress.get();
+  }
+
+  /**
+   * Set the progress. This can be called from any thread; the Snackbar is updated with the latest progress on the next
+   * frame.
+   *
+   * @param progress The progress, which is kept between 0 and the maximum.
+   */
+  @SuppressWarnings("WeakerAccess")
+  public void setProgress(int progress) {
+    this.progress.set(Math.max(0, Math.min(max, progress)));
+    if (updateScheduled.compareAndSet(false, true)) {
+      if (Looper.myLooper() == Looper.getMainLooper()) {
+        scheduleUpdate();
+      } else {
+        MAIN_HANDLER.post(scheduleRunnable);
+      }
+    }
+  }
+
+  View getProgressView() {
+    return progressBar != null ? progressBar : percentageView;
+  }
+
+  private void scheduleUpdate() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      postFrameCallback();
+    } else {
+      MAIN_HANDLER.post(updateRunnable);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private void postFrameCallback() {
+    if (frameCallback == null) {
+      frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          update();
+        }
+      };
+    }
+    Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+  }
+
+  private void update() {
+    updateScheduled.set(false);
+    int current = progress.get();
+    if (current == shownProgress) {
+      return;
+    }
+    shownProgress = current;
+    if (progressBar != null) {
+      progressBar.setProgress(current);
+    } else {
+      int length = formatPercentage((int) (current * 100L / max), percentageText);
+      percentageView.setText(percentageText, 0, length);
+    }
+  }
+
+  static int formatPercentage(int percentage, char[] text) {
+    int length = percentage >= 100 ? 3 : percentage >= 10 ? 2 : 1;
+    int remaining = percentage;
+    for (int i = length - 1; i >= 0; i--) {
+      text[i] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    text[length] = '%';
+    return length + 1;
+  }
+
+}
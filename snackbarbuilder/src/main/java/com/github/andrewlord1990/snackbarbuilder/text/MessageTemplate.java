@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.text;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.ImageSpan;
+import android.text.style.StyleSpan;
+import android.text.style.UnderlineSpan;
+import android.util.LruCache;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A message template, which is parsed once and cached, so that each message created from it only needs the arguments
+ * to be filled in, with the spans already built. Templates can contain the following markup:
+ * <ul>
+ * <li>{b}bold{/b}, {i}italic{/i} and {u}underlined{/u} text.</li>
+ * <li>{color=red}colored text{/color}, where the color is anything accepted by Color.parseColor().</li>
+ * <li>{icon}, which is replaced by a Drawable argument.</li>
+ * <li>%s, replaced by any argument, and %d, replaced by an integral number argument, either a Byte, Short, Integer,
+ * Long or BigInteger, as for String.format().</li>
+ * <li>{{ and %% for a literal { and %.</li>
+ * </ul>
+ * Arguments are used in the order their placeholders appear in the template, for example
+ * MessageTemplate.get("{icon} Sent to {b}%s{/b} - {color=red}%d failed{/color}").format(icon, name, failed).
+ */
+public final class MessageTemplate {
+
+  private static final int CACHE_SIZE = 32;
+  private static final LruCache<String, MessageTemplate> CACHE = new LruCache<>(CACHE_SIZE);
+
+  private static final Object SLOT_STRING = new Object();
+  private static final Object SLOT_NUMBER = new Object();
+  private static final Object SLOT_ICON = new Object();
+  private static final String ICON_PLACEHOLDER = "\uFFFC";
+
+  // Each segment is either literal text or one of the slots
+  private final Object[] segments;
+  private final Object[] spans;
+  private final int[] spanStartSegments;
+  private final int[] spanEndSegments;
+  private final int slotCount;
+
+  private MessageTemplate(Parser parser) {
+    segments = parser.segments.toArray();
+    spans = parser.spans.toArray();
+    spanStartSegments = toArray(parser.spanStartSegments);
+    spanEndSegments = toArray(parser.spanEndSegments);
+    slotCount = parser.slotCount;
+  }
+
+  /**
+   * Get the parsed template, which is only parsed the first time it is used, or if it has dropped out of the cache.
+   *
+   * @param template The template.
+   * @return The parsed template.
+   * @throws IllegalArgumentException If the template contains invalid markup.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public static MessageTemplate get(@NonNull String template) {
+    MessageTemplate parsed = CACHE.get(template);
+    if (parsed == null) {
+      parsed = new MessageTemplate(new Parser(template).parse());
+      CACHE.put(template, parsed);
+    }
+    return parsed;
+  }
+
+  /**
+   * Create a message from the template, filling in its placeholders.
+   *
+   * @param args The arguments, in the order their placeholders appear in the template.
+   * @return The message.
+   * @throws IllegalArgumentException If the arguments do not match the placeholders.
+   */
+  @NonNull
+  @SuppressWarnings("WeakerAccess")
+  public CharSequence format(Object... args) {
+    if (args.length != slotCount) {
+      throw new IllegalArgumentException("Expected " + slotCount + " arguments but was given " + args.length);
+    }
+    SpannableStringBuilder message = new SpannableStringBuilder();
+    int[] segmentStarts = new int[segments.length + 1];
+    int arg = 0;
+    for (int i = 0; i < segments.length; i++) {
+      segmentStarts[i] = message.length();
+      Object segment = segments[i];
+      if (segment == SLOT_STRING) {
+        appendString(message, args[arg++]);
+      } else if (segment == SLOT_NUMBER) {
+        appendNumber(message, args[arg++]);
+      } else if (segment == SLOT_ICON) {
+        appendIcon(message, args[arg++]);
+      } else {
+        message.append((String) segment);
+      }
+    }
+    segmentStarts[segments.length] = message.length();
+    for (int i = 0; i < spans.length; i++) {
+      message.setSpan(spans[i], segmentStarts[spanStartSegments[i]], segmentStarts[spanEndSegments[i]],
+          Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    }
+    return message;
+  }
+
+  private static void appendString(SpannableStringBuilder message, Object arg) {
+    if (arg instanceof CharSequence) {
+      message.append((CharSequence) arg);
+    } else {
+      message.append(String.valueOf(arg));
+    }
+  }
+
+  private static void appendNumber(SpannableStringBuilder message, Object arg) {
+    if (arg instanceof BigInteger) {
+      message.append(arg.toString());
+      return;
+    }
+    if (!(arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte)) {
+      // Dropping the fraction of a Float or Double would hide a mistake, so fail as String.format() does
+      throw new IllegalArgumentException("%d needs an integral number argument but was given " + arg);
+    }
+    message.append(String.valueOf(((Number) arg).longValue()));
+  }
+
+  private static void appendIcon(SpannableStringBuilder message, Object arg) {
+    if (!(arg instanceof Drawable)) {
+      throw new IllegalArgumentException("{icon} needs a Drawable argument but was given " + arg);
+    }
+    Drawable icon = (Drawable) arg;
+    if (icon.getBounds().isEmpty()) {
+      icon.setBounds(0, 0, icon.getIntrinsicWidth(), icon.getIntrinsicHeight());
+    }
+    int start = message.length();
+    message.append(ICON_PLACEHOLDER);
+    message.setSpan(new ImageSpan(icon, ImageSpan.ALIGN_BOTTOM), start, message.length(),
+        Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+  }
+
+  private static int[] toArray(List<Integer> values) {
+    int[] array = new int[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    return array;
+  }
+
+  private static final class Parser {
+
+    private final String template;
+    final List<Object> segments = new ArrayList<>();
+    final List<Object> spans = new ArrayList<>();
+    final List<Integer> spanStartSegments = new ArrayList<>();
+    final List<Integer> spanEndSegments = new ArrayList<>();
+    private final Deque<String> openTags = new ArrayDeque<>();
+    private final Deque<Integer> openSpans = new ArrayDeque<>();
+    private final StringBuilder literal = new StringBuilder();
+    int slotCount;
+
+    Parser(String template) {
+      this.template = template;
+    }
+
+    Parser parse() {
+      int i = 0;
+      while (i < template.length()) {
+        char c = template.charAt(i);
+        if (c == '{') {
+          i = parseTag(i);
+        } else if (c == '%') {
+          i = parsePlaceholder(i);
+        } else {
+          literal.append(c);
+          i++;
+        }
+      }
+      if (!openTags.isEmpty()) {
+        throw invalid("{" + openTags.peek() + "} is not closed");
+      }
+      flushLiteral();
+      return this;
+    }
+
+    private int parseTag(int start) {
+      if (start + 1 < template.length() && template.charAt(start + 1) == '{') {
+        literal.append('{');
+        return start + 2;
+      }
+      int end = template.indexOf('}', start);
+      if (end < 0) {
+        throw invalid("unclosed {");
+      }
+      String tag = template.substring(start + 1, end);
+      flushLiteral();
+      if (tag.equals("icon")) {
+        addSlot(SLOT_ICON);
+      } else if (tag.startsWith("/")) {
+        closeTag(tag.substring(1));
+      } else {
+        openTag(tag);
+      }
+      return end + 1;
+    }
+
+    private int parsePlaceholder(int start) {
+      if (start + 1 >= template.length()) {
+        throw invalid("% at the end of the template");
+      }
+      char conversion = template.charAt(start + 1);
+      if (conversion == '%') {
+        literal.append('%');
+      } else if (conversion == 's') {
+        flushLiteral();
+        addSlot(SLOT_STRING);
+      } else if (conversion == 'd') {
+        flushLiteral();
+        addSlot(SLOT_NUMBER);
+      } else {
+        throw invalid("unknown placeholder %" + conversion);
+      }
+      return start + 2;
+    }
+
+    private void openTag(String tag) {
+      String name = tag;
+      Object span;
+      if (tag.equals("b")) {
+        span = new StyleSpan(Typeface.BOLD);
+      } else if (tag.equals("i")) {
+        span = new StyleSpan(Typeface.ITALIC);
+      } else if (tag.equals("u")) {
+        span = new UnderlineSpan();
+      } else if (tag.startsWith("color=")) {
+        name = "color";
+        span = new ForegroundColorSpan(parseColor(tag.substring("color=".length())));
+      } else {
+        throw invalid("unknown tag {" + tag + "}");
+      }
+      openTags.push(name);
+      openSpans.push(spans.size());
+      spans.add(span);
+      spanStartSegments.add(segments.size());
+      spanEndSegments.add(-1);
+    }
+
+    private void closeTag(String name) {
+      if (!name.equals(openTags.peek())) {
+        throw invalid("{/" + name + "} does not match the open tag");
+      }
+      openTags.pop();
+      spanEndSegments.set(openSpans.pop(), segments.size());
+    }
+
+    private int parseColor(String color) {
+      try {
+        return Color.parseColor(color);
+      } catch (IllegalArgumentException e) {
+        throw invalid("unknown color " + color);
+      }
+    }
+
+    private void addSlot(Object slot) {
+      segments.add(slot);
+      slotCount++;
+    }
+
+    private void flushLiteral() {
+      if (literal.length() > 0) {
+        segments.add(literal.toString());
+        literal.setLength(0);
+      }
+    }
+
+    private IllegalArgumentException invalid(String reason) {
+      return new IllegalArgumentException("Invalid message template \"" + template + "\": " + reason);
+    }
+  }
+
+}
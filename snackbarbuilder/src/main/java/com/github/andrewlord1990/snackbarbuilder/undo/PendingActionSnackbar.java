@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper;
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Shows Snackbars whose actions are deferred until the Snackbar goes away, such as a delete that can be undone. When a
+ * Snackbar is dismissed for any reason other than its action being pressed, its pending action is handed over to be
+ * committed on a background executor, so that the I/O is kept off the main thread. Actions are committed in the order
+ * their Snackbars were dismissed, and any that become ready while a commit is running are committed together in the
+ * next batch. Call flush() from onStop() to commit the actions of any Snackbars that are still showing. Other than the
+ * commits, this must be used on the main thread.
+ *
+ * @param <T> The type of pending action.
+ */
+public final class PendingActionSnackbar<T> {
+
+  /**
+   * Commits batches of pending actions.
+   *
+   * @param <T> The type of pending action.
+   */
+  public interface Committer<T> {
+
+    /**
+     * Commit a batch of actions. This is called on the executor, with only one batch being committed at a time.
+     *
+     * @param actions The actions, in the order their Snackbars were dismissed.
+     */
+    void commit(@NonNull List<T> actions);
+
+  }
+
+  private final Executor executor;
+  private final Committer<T> committer;
+  private final ConcurrentLinkedQueue<T> ready = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean commitScheduled = new AtomicBoolean();
+  final List<Pending> showing = new ArrayList<>();
+  private final Runnable commitRunnable = new Runnable() {
+    @Override
+    public void run() {
+      commitReady();
+    }
+  };
+
+  /**
+   * Create a pending action Snackbar, which commits actions on the provided executor.
+   *
+   * @param executor  The executor to commit actions on.
+   * @param committer Commits the actions.
+   */
+  public PendingActionSnackbar(@NonNull Executor executor, @NonNull Committer<T> committer) {
+    this.executor = executor;
+    this.committer = committer;
+  }
+
+  /**
+   * Build and show a Snackbar, with an action to commit once it is dismissed. If the Snackbar's action is pressed, the
+   * pending action is dropped instead; use the builder's action click listener to undo any changes already made.
+   *
+   * @param builder The builder to create the Snackbar from.
+   * @param action  The pending action.
+   * @return The wrapper of the shown Snackbar.
+   */
+  @NonNull
+  public SnackbarWrapper show(@NonNull SnackbarBuilder builder, @NonNull T action) {
+    Pending pending = new Pending(action);
+    // Added to the wrapper rather than the builder, so a reused builder does not carry it on to other Snackbars
+    pending.wrapper = builder
+        .buildWrapper()
+        .addSnackbarCallback(pending);
+    showing.add(pending);
+    return pending.wrapper.show();
+  }
+
+  /**
+   * Commit the actions of all Snackbars that are still showing straight away, and dismiss them.
+   */
+  public void flush() {
+    while (!showing.isEmpty()) {
+      Pending pending = showing.get(0);
+      pending.finish(true);
+      pending.wrapper.dismiss();
+    }
+  }
+
+  /**
+   * Get the number of Snackbars that are showing, or queued to show, with actions that have not been committed.
+   *
+   * @return The number of pending actions.
+   */
+  public int getPendingCount() {
+    return showing.size();
+  }
+
+  private void enqueue(T action) {
+    ready.offer(action);
+    scheduleCommit();
+  }
+
+  private void scheduleCommit() {
+    if (commitScheduled.compareAndSet(false, true)) {
+      executor.execute(commitRunnable);
+    }
+  }
+
+  private void commitReady() {
+    do {
+      List<T> batch = new ArrayList<>();
+      T action = ready.poll();
+      while (action != null) {
+        batch.add(action);
+        action = ready.poll();
+      }
+      boolean committed = false;
+      try {
+        if (!batch.isEmpty()) {
+          committer.commit(batch);
+        }
+        committed = true;
+      } finally {
+        commitScheduled.set(false);
+        if (!committed && !ready.isEmpty()) {
+          // Keep committing the actions behind a failed batch, rather than leaving them until the next is ready
+          scheduleCommit();
+        }
+      }
+    } while (!ready.isEmpty() && commitScheduled.compareAndSet(false, true));
+  }
+
+  final class Pending extends SnackbarCallback {
+
+    private final T action;
+    SnackbarWrapper wrapper;
+    private boolean finished;
+
+    Pending(T action) {
+      this.action = action;
+    }
+
+    @Override
+    public void onSnackbarDismissed(Snackbar snackbar, int dismissEvent) {
+      finish(dismissEvent != Snackbar.Callback.DISMISS_EVENT_ACTION);
+    }
+
+    void finish(boolean commit) {
+      if (finished) {
+        return;
+      }
+      finished = true;
+      showing.remove(this);
+      if (commit) {
+        enqueue(action);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import android.os.SystemClock;
+import android.view.View;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper;
+import com.github.andrewlord1990.snackbarbuilder.callback.SnackbarCallback;
+import com.google.android.material.snackbar.Snackbar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.PluralsRes;
+
+/**
+ * Groups undoable operations that happen in quick succession into a single "Undo" Snackbar. Rather than showing a
+ * Snackbar for each operation, the first one shows a Snackbar and each following one updates its message (e.g.
+ * "5 items deleted") and restarts its timeout. When the Snackbar is dismissed, all of the operations in the batch are
+ * either rolled back together, if the undo action was pressed, or committed together for any other dismissal. This
+ * allows the operations to be committed in a single transaction rather than one for each. Must be used on the main
+ * thread.
+ *
+ * @param <T> The type of undoable operation.
+ */
+public final class UndoBatcher<T> {
+
+  /**
+   * Notified when a batch of operations is finished with.
+   *
+   * @param <T> The type of undoable operation.
+   */
+  public interface Listener<T> {
+
+    /**
+     * Commit a batch of operations, as the Snackbar was dismissed without the undo action being pressed.
+     *
+     * @param items The operations, in the order they were added.
+     */
+    void onCommit(@NonNull List<T> items);
+
+    /**
+     * Roll back a batch of operations, as the undo action was pressed.
+     *
+     * @param items The operations, in the order they were added.
+     */
+    void onUndo(@NonNull List<T> items);
+
+  }
+
+  private final View parentView;
+  private final int messageResId;
+  private final Listener<T> listener;
+  Batch current;
+
+  /**
+   * Create a batcher that shows its Snackbar in the provided parent view, with a message such as "5 items deleted".
+   *
+   * @param parentView Parent view to attach the Snackbar to.
+   * @param listener   Notified to commit or roll back each batch.
+   */
+  public UndoBatcher(@NonNull View parentView, @NonNull Listener<T> listener) {
+    this(parentView, R.plurals.snackbarbuilder_undo_items_deleted, listener);
+  }
+
+  /**
+   * Create a batcher that shows its Snackbar in the provided parent view.
+   *
+   * @param parentView   Parent view to attach the Snackbar to.
+   * @param messageResId Plurals resource of the message, which is formatted with the number of operations.
+   * @param listener     Notified to commit or roll back each batch.
+   */
+  public UndoBatcher(@NonNull View parentView, @PluralsRes int messageResId, @NonNull Listener<T> listener) {
+    this.parentView = parentView;
+    this.messageResId = messageResId;
+    this.listener = listener;
+  }
+
+  /**
+   * Add an operation to the current batch, showing the undo Snackbar if it is not already shown.
+   *
+   * @param item The undoable operation.
+   */
+  public void add(@NonNull T item) {
+    if (current != null && !current.isClosing()) {
+      current.items.add(item);
+      current.wrapper.setText(getMessage(current.items.size()))
+          .restartTimeout();
+      current.restartTimeout();
+      return;
+    }
+    // A batch whose Snackbar is on its way out is left to finish, as its Snackbar would not show the new item
+    current = new Batch();
+    current.items.add(item);
+    current.wrapper = new SnackbarBuilder(parentView)
+        .message(getMessage(1))
+        .actionText(R.string.snackbarbuilder_action_undo)
+        .actionClickListener(current)
+        .snackbarCallback(current)
+        .buildWrapper()
+        .show();
+  }
+
+  /**
+   * Commit the current batch straight away and dismiss its Snackbar, for example when the screen is being left.
+   */
+  public void commit() {
+    if (current != null) {
+      Batch batch = current;
+      batch.finish(false);
+      batch.wrapper.dismiss();
+    }
+  }
+
+  /**
+   * Get the number of operations in the current batch.
+   *
+   * @return The number of pending operations.
+   */
+  public int getPendingCount() {
+    return current != null ? current.items.size() : 0;
+  }
+
+  private CharSequence getMessage(int count) {
+    return parentView.getResources().getQuantityString(messageResId, count, count);
+  }
+
+  final class Batch extends SnackbarCallback implements View.OnClickListener {
+
+    final List<T> items = new ArrayList<>();
+    SnackbarWrapper wrapper;
+    private boolean finished;
+    private boolean actionPressed;
+    private boolean shown;
+    private long timeoutAtMillis;
+
+    @Override
+    public void onSnackbarShown(Snackbar snackbar) {
+      shown = true;
+      restartTimeout();
+    }
+
+    @Override
+    public void onClick(View view) {
+      actionPressed = true;
+    }
+
+    @Override
+    public void onSnackbarDismissed(Snackbar snackbar, int dismissEvent) {
+      finish(dismissEvent == Snackbar.Callback.DISMISS_EVENT_ACTION);
+    }
+
+    void restartTimeout() {
+      if (shown) {
+        long remainingMillis = wrapper.getRemainingMillis();
+        timeoutAtMillis = remainingMillis == Long.MAX_VALUE
+            ? Long.MAX_VALUE : SystemClock.uptimeMillis() + remainingMillis;
+      }
+    }
+
+    /**
+     * Whether the Snackbar has started to be dismissed, which is only reported once its exit animation has finished.
+     */
+    boolean isClosing() {
+      return finished
+          || actionPressed
+          || wrapper.getView().getVisibility() != View.VISIBLE
+          || (shown && SystemClock.uptimeMillis() >= timeoutAtMillis);
+    }
+
+    void finish(boolean undo) {
+      if (finished) {
+        return;
+      }
+      finished = true;
+      if (current == this) {
+        current = null;
+      }
+      List<T> batch = Collections.unmodifiableList(items);
+      if (undo) {
+        listener.onUndo(batch);
+      } else {
+        listener.onCommit(batch);
+      }
+    }
+  }
+
+}
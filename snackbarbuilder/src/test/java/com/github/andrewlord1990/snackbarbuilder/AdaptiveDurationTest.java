@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class AdaptiveDurationTest {
+
+  private AdaptiveDuration adaptiveDuration;
+
+  @Before
+  public void before() {
+    adaptiveDuration = new AdaptiveDuration(1000, 50, 1500, 10000);
+  }
+
+  @Test
+  public void givenLongerMessage_whenComputeDuration_thenLongerDuration() {
+    int shortDuration = adaptiveDuration.computeDuration(20);
+    int longDuration = adaptiveDuration.computeDuration(80);
+
+    assertThat(shortDuration).isEqualTo(2500);
+    assertThat(longDuration).isEqualTo(7000);
+  }
+
+  @Test
+  public void givenVeryShortOrLongMessage_whenComputeDuration_thenClampedToBounds() {
+    assertThat(adaptiveDuration.computeDuration(0)).isEqualTo(1500);
+    assertThat(adaptiveDuration.computeDuration(1000)).isEqualTo(10000);
+  }
+
+  @Test
+  public void givenFastReader_whenRecordReadingTime_thenDurationReduced() {
+    int before = adaptiveDuration.computeDuration(40);
+
+    adaptiveDuration.recordReadingTime(40, 1800);
+
+    assertThat(adaptiveDuration.getMillisPerCharacter()).isLessThan(50);
+    assertThat(adaptiveDuration.computeDuration(40)).isLessThan(before);
+  }
+
+  @Test
+  public void givenLearntReadingSpeed_whenReset_thenInitialSpeedRestored() {
+    adaptiveDuration.recordReadingTime(40, 1800);
+
+    adaptiveDuration.reset();
+
+    assertThat(adaptiveDuration.getMillisPerCharacter()).isEqualTo(50);
+  }
+
+  @Test
+  public void givenAdaptiveDuration_whenBuild_thenDurationCalculatedFromMessageLength() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("0123456789")
+        .appendMessage("0123456789")
+        .adaptiveDuration(adaptiveDuration)
+        .build();
+
+    assertThat(snackbar.getDuration()).isEqualTo(2500);
+  }
+
+}
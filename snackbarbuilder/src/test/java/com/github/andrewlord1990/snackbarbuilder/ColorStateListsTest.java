@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.content.res.ColorStateList;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class ColorStateListsTest {
+
+  @Test
+  public void givenSameColor_whenValueOf_thenSameInstance() {
+    ColorStateList colors = ColorStateLists.valueOf(0xFF123456);
+
+    assertThat(ColorStateLists.valueOf(0xFF123456)).isSameAs(colors);
+    assertThat(colors.getDefaultColor()).isEqualTo(0xFF123456);
+  }
+
+  @Test
+  public void givenViewWithColor_whenSetTextColor_thenColorsNotReplaced() {
+    TextView view = new TextView(RuntimeEnvironment.application);
+    ColorStateList colors = ColorStateList.valueOf(0xFF654321);
+    view.setTextColor(colors);
+
+    ColorStateLists.setTextColor(view, 0xFF654321);
+
+    assertThat(view.getTextColors()).isSameAs(colors);
+  }
+
+  @Test
+  public void givenViewWithOtherColor_whenSetTextColor_thenCachedColorsSet() {
+    TextView view = new TextView(RuntimeEnvironment.application);
+    view.setTextColor(0xFF000000);
+
+    ColorStateLists.setTextColor(view, 0xFF111111);
+
+    assertThat(view.getTextColors()).isSameAs(ColorStateLists.valueOf(0xFF111111));
+  }
+
+  @Test
+  public void givenStatefulColors_whenHasColor_thenFalse() {
+    ColorStateList colors = new ColorStateList(
+        new int[][]{new int[]{android.R.attr.state_pressed}, new int[0]},
+        new int[]{0xFF000000, 0xFF111111});
+
+    assertThat(ColorStateLists.hasColor(colors, 0xFF111111)).isFalse();
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class CountdownTickerTest {
+
+  private CoordinatorLayout parent;
+  private CountdownTicker.Countdown first;
+  private CountdownTicker.Countdown second;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void after() {
+    if (first != null) {
+      CountdownTicker.stop(first);
+    }
+    if (second != null) {
+      CountdownTicker.stop(second);
+    }
+  }
+
+  @Test
+  public void whenBuild_thenPlaceholderReplacedWithSeconds() {
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("Deleting in %d")
+        .duration(5000)
+        .countdown()
+        .build();
+
+    assertThat(getMessageView(snackbar).getText().toString()).isEqualTo("Deleting in 5");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenNoPlaceholder_whenBuild_thenThrows() {
+    new SnackbarBuilder(parent)
+        .message("Deleting")
+        .duration(5000)
+        .countdown()
+        .build();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void givenIndefiniteDuration_whenBuild_thenThrows() {
+    new SnackbarBuilder(parent)
+        .message("Deleting in %d")
+        .duration(Snackbar.LENGTH_INDEFINITE)
+        .countdown()
+        .build();
+  }
+
+  @Test
+  public void givenStarted_whenTicked_thenOnlyDigitsUpdatedInSameText() {
+    TextView messageView = createMessageView("Deleting in %ds");
+    first = CountdownTicker.attach(messageView, 12000);
+    CharSequence text = messageView.getText();
+
+    CountdownTicker.start(first, 0);
+    CountdownTicker.tick(2500);
+
+    assertThat(messageView.getText()).isSameAs(text);
+    assertThat(text.toString()).isEqualTo("Deleting in 10s");
+    CountdownTicker.tick(11500);
+    assertThat(text.toString()).isEqualTo("Deleting in 1s");
+  }
+
+  @Test
+  public void givenStarted_whenUpdated_thenNextChangeAtNextWholeSecond() {
+    first = CountdownTicker.attach(createMessageView("%d"), 5000);
+    CountdownTicker.start(first, 1000);
+
+    assertThat(first.update(1000)).isEqualTo(2000);
+    assertThat(first.update(2300)).isEqualTo(3000);
+    assertThat(first.update(6000)).isEqualTo(Long.MAX_VALUE);
+    assertThat(first.text.toString()).isEqualTo("0");
+  }
+
+  @Test
+  public void givenSeveralCountdowns_whenStartedAndStopped_thenSharedTickerTracksThem() {
+    first = CountdownTicker.attach(createMessageView("%d"), 5000);
+    second = CountdownTicker.attach(createMessageView("%d"), 3000);
+
+    CountdownTicker.start(first, 0);
+    CountdownTicker.start(second, 0);
+    CountdownTicker.tick(2100);
+
+    assertThat(CountdownTicker.getActiveCount()).isEqualTo(2);
+    assertThat(first.text.toString()).isEqualTo("3");
+    assertThat(second.text.toString()).isEqualTo("1");
+    CountdownTicker.stop(second);
+    assertThat(CountdownTicker.getActiveCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void whenSecondsRemaining_thenRoundedUp() {
+    assertThat(CountdownTicker.secondsRemaining(-10)).isEqualTo(0);
+    assertThat(CountdownTicker.secondsRemaining(1)).isEqualTo(1);
+    assertThat(CountdownTicker.secondsRemaining(1000)).isEqualTo(1);
+    assertThat(CountdownTicker.secondsRemaining(1001)).isEqualTo(2);
+  }
+
+  private TextView createMessageView(String message) {
+    TextView messageView = new TextView(RuntimeEnvironment.application);
+    messageView.setText(message);
+    return messageView;
+  }
+
+  private static TextView getMessageView(Snackbar snackbar) {
+    return (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+  }
+
+}
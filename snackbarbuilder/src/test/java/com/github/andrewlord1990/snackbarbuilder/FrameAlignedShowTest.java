@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class FrameAlignedShowTest {
+
+  private static final long MAX_DEFERRAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @Test
+  public void givenFrameWithinBudget_thenNotDeferred() {
+    long frameTime = 1000;
+    long now = frameTime + FrameAlignedShow.FRAME_BUDGET_NANOS / 2;
+
+    assertThat(FrameAlignedShow.shouldDefer(frameTime, now, frameTime, MAX_DEFERRAL_NANOS)).isFalse();
+  }
+
+  @Test
+  public void givenFrameOverBudget_thenDeferred() {
+    long frameTime = 1000;
+    long now = frameTime + FrameAlignedShow.FRAME_BUDGET_NANOS * 2;
+
+    assertThat(FrameAlignedShow.shouldDefer(frameTime, now, frameTime, MAX_DEFERRAL_NANOS)).isTrue();
+  }
+
+  @Test
+  public void givenFrameOverBudget_whenMaxDeferralPassed_thenNotDeferred() {
+    long requestedAt = 1000;
+    long frameTime = requestedAt + MAX_DEFERRAL_NANOS;
+    long now = frameTime + FrameAlignedShow.FRAME_BUDGET_NANOS * 2;
+
+    assertThat(FrameAlignedShow.shouldDefer(frameTime, now, requestedAt, MAX_DEFERRAL_NANOS)).isFalse();
+  }
+
+  @Test
+  public void givenMaxShowDeferral_whenShown_thenWaitsForFrame() {
+    Robolectric.getForegroundThreadScheduler().pause();
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .frameAlignedShow()
+        .buildWrapper();
+
+    wrapper.show();
+
+    assertThat(wrapper.isShownOrQueued()).isFalse();
+    Robolectric.getForegroundThreadScheduler().unPause();
+  }
+
+  @Test
+  public void givenMaxShowDeferral_whenBuildAndShow_thenShownStraightAway() {
+    Robolectric.getForegroundThreadScheduler().pause();
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .frameAlignedShow()
+        .build();
+
+    snackbar.show();
+
+    assertThat(snackbar.isShownOrQueued()).isTrue();
+    Robolectric.getForegroundThreadScheduler().unPause();
+  }
+
+  @Test
+  public void givenNoMaxShowDeferral_whenShown_thenShownStraightAway() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildWrapper();
+
+    wrapper.show();
+
+    assertThat(wrapper.getMaxShowDeferral()).isEqualTo(0);
+    assertThat(wrapper.isShownOrQueued()).isTrue();
+  }
+
+  @Test
+  public void whenFrameAlignedShow_thenWrapperGivenMaxDeferral() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .frameAlignedShow(250)
+        .buildWrapper();
+
+    assertThat(wrapper.getMaxShowDeferral()).isEqualTo(250);
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarAnimationTest {
+
+  private View view;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    view = new FrameLayout(RuntimeEnvironment.application);
+    view.layout(0, 0, 200, 100);
+  }
+
+  @After
+  public void after() {
+    SnackbarAnimation.setDefaultAnimation(SnackbarAnimation.ANIMATION_DEFAULT);
+  }
+
+  @Test
+  public void givenNotLowRamDevice_whenGetDefaultAnimation_thenSlide() {
+    assertThat(SnackbarAnimation.getDefaultAnimation(RuntimeEnvironment.application))
+        .isEqualTo(SnackbarAnimation.ANIMATION_SLIDE);
+  }
+
+  @Test
+  public void givenDefaultAnimationSet_whenGetDefaultAnimation_thenSetAnimation() {
+    SnackbarAnimation.setDefaultAnimation(SnackbarAnimation.ANIMATION_NONE);
+
+    assertThat(SnackbarAnimation.getDefaultAnimation(RuntimeEnvironment.application))
+        .isEqualTo(SnackbarAnimation.ANIMATION_NONE);
+  }
+
+  @Test
+  public void givenAnimationSpecified_whenResolve_thenDefaultIgnored() {
+    SnackbarAnimation.setDefaultAnimation(SnackbarAnimation.ANIMATION_NONE);
+
+    assertThat(SnackbarAnimation.resolve(RuntimeEnvironment.application, SnackbarAnimation.ANIMATION_FADE))
+        .isEqualTo(SnackbarAnimation.ANIMATION_FADE);
+  }
+
+  @Test
+  public void whenFadeAlpha_thenProportionOfHeightStillToSlide() {
+    assertThat(SnackbarAnimation.fadeAlpha(100f, 100)).isEqualTo(0f);
+    assertThat(SnackbarAnimation.fadeAlpha(25f, 100)).isEqualTo(0.75f);
+    assertThat(SnackbarAnimation.fadeAlpha(0f, 100)).isEqualTo(1f);
+    assertThat(SnackbarAnimation.fadeAlpha(50f, 0)).isEqualTo(1f);
+  }
+
+  @Test
+  public void givenFade_whenPreDrawWhileSliding_thenSlideTurnedIntoFadeInHardwareLayer() {
+    SnackbarAnimation.ReplaceSlide replaceSlide = new SnackbarAnimation.ReplaceSlide(view, true);
+    view.setTranslationY(50f);
+
+    replaceSlide.onPreDraw();
+
+    assertThat(view.getTranslationY()).isEqualTo(0f);
+    assertThat(view.getAlpha()).isEqualTo(0.5f);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+  }
+
+  @Test
+  public void givenFade_whenPreDrawAfterSlideFinished_thenLayerAndAlphaReset() {
+    SnackbarAnimation.ReplaceSlide replaceSlide = new SnackbarAnimation.ReplaceSlide(view, true);
+    view.setTranslationY(50f);
+    replaceSlide.onPreDraw();
+
+    replaceSlide.onPreDraw();
+
+    assertThat(view.getAlpha()).isEqualTo(1f);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void givenNoAnimation_whenPreDrawWhileSliding_thenSlideDropped() {
+    SnackbarAnimation.ReplaceSlide replaceSlide = new SnackbarAnimation.ReplaceSlide(view, false);
+    view.setTranslationY(50f);
+
+    replaceSlide.onPreDraw();
+
+    assertThat(view.getTranslationY()).isEqualTo(0f);
+    assertThat(view.getAlpha()).isEqualTo(1f);
+  }
+
+  @Test
+  public void givenSlide_whenBuild_thenSlideLeftInPlace() {
+    Snackbar snackbar = new SnackbarBuilder(new CoordinatorLayout(RuntimeEnvironment.application))
+        .message("message")
+        .animation(SnackbarAnimation.ANIMATION_NONE)
+        .animation(SnackbarAnimation.ANIMATION_SLIDE)
+        .build();
+    View snackbarView = snackbar.getView();
+    snackbarView.setTranslationY(50f);
+
+    snackbarView.getViewTreeObserver().dispatchOnPreDraw();
+
+    assertThat(snackbarView.getTranslationY()).isEqualTo(50f);
+  }
+
+  @Test
+  public void givenNoAnimation_whenBuild_thenSlideDroppedBeforeDraw() {
+    Snackbar snackbar = new SnackbarBuilder(new CoordinatorLayout(RuntimeEnvironment.application))
+        .message("message")
+        .animation(SnackbarAnimation.ANIMATION_NONE)
+        .build();
+    View snackbarView = snackbar.getView();
+    snackbarView.setTranslationY(50f);
+
+    snackbarView.getViewTreeObserver().dispatchOnPreDraw();
+
+    assertThat(snackbarView.getTranslationY()).isEqualTo(0f);
+  }
+
+}
@@ -20,6 +20,7 @@ import android.annotation.TargetApi;
 import android.app.Activity;
 import android.content.res.Resources;
 import android.graphics.Color;
+import android.graphics.Typeface;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.DimenRes;
@@ -30,6 +31,7 @@ import android.support.design.widget.Snackbar;
 import android.support.design.widget.Snackbar.Callback;
 import android.text.Spannable;
 import android.text.SpannableString;
+import android.text.SpannableStringBuilder;
 import android.text.style.ForegroundColorSpan;
 import android.util.Pair;
 import android.view.View;
@@ -60,6 +62,7 @@ import org.robolectric.RuntimeEnvironment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -69,6 +72,15 @@ import static org.mockito.Mockito.when;
 @RunWith(LibraryRobolectricTestRunner.class)
 public class SnackbarBuilderTest {
 
+  // Not a real font resource, the cache is seeded with it so nothing is loaded
+  private static final int CACHED_FONT_RES_ID = 0x7f0a0001;
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
   @Mock
   CoordinatorLayout parentView;
 
@@ -486,13 +498,70 @@ public class SnackbarBuilderTest {
     assertThat(builder.callbacks).containsOnly(callback);
   }
 
+  @Test
+  public void givenNoCallbacks_whenCreated_thenCallbacksNotAllocated() {
+    SnackbarBuilder builder = createBuilder();
+
+    assertThat(builder.callbacks).isNull();
+  }
+
+  @Test
+  public void givenMultipleCallbacks_whenCallback_thenCallbacksSizedToFit() {
+    SnackbarBuilder builder = createBuilder();
+
+    builder.callback(callback);
+    builder.snackbarCallback(snackbarCallback);
+
+    assertThat(builder.callbacks).containsExactly(callback, snackbarCallback);
+  }
+
+  @Test
+  public void givenNoCallbacks_whenBuild_thenCallbacksNotAllocated() {
+    SnackbarBuilder builder = createBuilder().message("message");
+
+    builder.build();
+    builder.build();
+
+    assertThat(builder.callbacks).isNull();
+  }
+
+  @Test
+  public void givenCallbacks_whenBuildRepeatedly_thenCallbacksNotCopied() {
+    SnackbarBuilder builder = createBuilder()
+        .message("message")
+        .callback(callback)
+        .snackbarCallback(snackbarCallback);
+    Callback[] callbacks = builder.callbacks;
+
+    builder.build();
+    builder.build();
+
+    assertThat(builder.callbacks).isSameAs(callbacks);
+  }
+
+  @Test
+  public void whenBuildWrapper_thenNoVisibilityCallbackAllocatedUntilShown() {
+    SnackbarWrapper wrapper = createBuilder().message("message").buildWrapper();
+
+    assertThat(wrapper.visibilityTracker).isNull();
+  }
+
+  @Test
+  public void givenNoActionClickListener_whenSanitisedActionClickListener_thenSharedListenerReturned() {
+    SnackbarBuilder first = createBuilder();
+    SnackbarBuilder second = createBuilder();
+
+    assertThat(first.sanitisedActionClickListener()).isNotNull();
+    assertThat(first.sanitisedActionClickListener()).isSameAs(second.sanitisedActionClickListener());
+  }
+
   @Test
   public void whenShowCallback_thenCallbackSet() {
     SnackbarBuilder builder = createBuilder();
     SnackbarShowCallback callback = mock(SnackbarShowCallback.class);
 
     builder.showCallback(callback);
-    builder.callbacks.get(0).onShown(snackbar);
+    builder.callbacks[0].onShown(snackbar);
 
     verify(callback).onSnackbarShown(snackbar);
   }
@@ -503,7 +572,7 @@ public class SnackbarBuilderTest {
     SnackbarDismissCallback callback = mock(SnackbarDismissCallback.class);
 
     builder.dismissCallback(callback);
-    builder.callbacks.get(0).onDismissed(snackbar, 0);
+    builder.callbacks[0].onDismissed(snackbar, 0);
 
     verify(callback).onSnackbarDismissed(snackbar, 0);
   }
@@ -514,7 +583,7 @@ public class SnackbarBuilderTest {
     SnackbarActionDismissCallback callback = mock(SnackbarActionDismissCallback.class);
 
     builder.actionDismissCallback(callback);
-    builder.callbacks.get(0).onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_ACTION);
+    builder.callbacks[0].onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_ACTION);
 
     verify(callback).onSnackbarActionPressed(snackbar);
   }
@@ -525,7 +594,7 @@ public class SnackbarBuilderTest {
     SnackbarSwipeDismissCallback callback = mock(SnackbarSwipeDismissCallback.class);
 
     builder.swipeDismissCallback(callback);
-    builder.callbacks.get(0).onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_SWIPE);
+    builder.callbacks[0].onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_SWIPE);
 
     verify(callback).onSnackbarSwiped(snackbar);
   }
@@ -536,7 +605,7 @@ public class SnackbarBuilderTest {
     SnackbarTimeoutDismissCallback callback = mock(SnackbarTimeoutDismissCallback.class);
 
     builder.timeoutDismissCallback(callback);
-    builder.callbacks.get(0).onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_TIMEOUT);
+    builder.callbacks[0].onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_TIMEOUT);
 
     verify(callback).onSnackbarTimedOut(snackbar);
   }
@@ -547,7 +616,7 @@ public class SnackbarBuilderTest {
     SnackbarManualDismissCallback callback = mock(SnackbarManualDismissCallback.class);
 
     builder.manualDismissCallback(callback);
-    builder.callbacks.get(0).onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_MANUAL);
+    builder.callbacks[0].onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_MANUAL);
 
     verify(callback).onSnackbarManuallyDismissed(snackbar);
   }
@@ -558,7 +627,7 @@ public class SnackbarBuilderTest {
     SnackbarConsecutiveDismissCallback callback = mock(SnackbarConsecutiveDismissCallback.class);
 
     builder.consecutiveDismissCallback(callback);
-    builder.callbacks.get(0).onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_CONSECUTIVE);
+    builder.callbacks[0].onDismissed(snackbar, SnackbarCallback.DISMISS_EVENT_CONSECUTIVE);
 
     verify(callback).onSnackbarDismissedAfterAnotherShown(snackbar);
   }
@@ -675,7 +744,7 @@ public class SnackbarBuilderTest {
   }
 
   @Test
-  @TargetApi(11)
+  @TargetApi(21)
   public void whenBuild_thenSnackbarSetup() {
     int messageTextColor = 0xFF111111;
     int actionTextColor = 0xFF999999;
@@ -701,8 +770,7 @@ public class SnackbarBuilderTest {
         .hasCurrentTextColor(messageTextColor)
         .hasText(message);
 
-    Assertions.assertThat((ColorDrawable) snackbar.getView().getBackground())
-        .hasColor(backgroundCOlor);
+    assertThat(snackbar.getView().getBackgroundTintList().getDefaultColor()).isEqualTo(backgroundCOlor);
 
     Button button = (Button) snackbar.getView().findViewById(R.id.snackbar_action);
     Assertions.assertThat(button).hasCurrentTextColor(actionTextColor);
@@ -760,6 +828,239 @@ public class SnackbarBuilderTest {
     assertThat(button.getTransformationMethod()).isNotNull();
   }
 
+  @Test
+  public void givenNoActionText_whenBuild_thenActionHidden() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .build();
+
+    Button button = (Button) snackbar.getView().findViewById(R.id.snackbar_action);
+    assertThat(button.getVisibility()).isEqualTo(View.GONE);
+  }
+
+  @Test
+  public void givenNoIcon_whenBuild_thenIconMarginNotApplied() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .iconMargin(10)
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    assertThat(messageView.getCompoundDrawablePadding()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenNoPreviousMetrics_whenPrecomputeText_thenNothingPrecomputedButMetricsRecorded() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    MessageTextMetrics.set(null);
+
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message")
+        .precomputeText(DIRECT_EXECUTOR);
+    builder.build();
+
+    assertThat(builder.precomputedMessage).isNull();
+    assertThat(MessageTextMetrics.get()).isNotNull();
+  }
+
+  @Test
+  public void givenPreviousMetrics_whenPrecomputeText_thenPrecomputedMessageApplied() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    new SnackbarBuilder(parent)
+        .message("first")
+        .precomputeText(DIRECT_EXECUTOR)
+        .build();
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("start")
+        .appendMessage("_appended")
+        .precomputeText(DIRECT_EXECUTOR)
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    assertThat(messageView.getText().toString()).isEqualTo("start_appended");
+  }
+
+  @Test
+  public void givenPrecomputeNotFinished_whenBuild_thenPlainMessageUsedWithoutWaiting() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    new SnackbarBuilder(parent)
+        .message("first")
+        .precomputeText(DIRECT_EXECUTOR)
+        .build();
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("start")
+        .appendMessage("_appended")
+        .precomputeText(new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            // Never runs, as if the executor were busy
+          }
+        })
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    assertThat(messageView.getText().toString()).isEqualTo("start_appended");
+  }
+
+  @Test
+  public void givenMessageChangedAfterPrecompute_whenBuild_thenCurrentMessageUsed() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    new SnackbarBuilder(parent)
+        .message("first")
+        .precomputeText(DIRECT_EXECUTOR)
+        .build();
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("start")
+        .precomputeText(DIRECT_EXECUTOR)
+        .appendMessage("_appended")
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    assertThat(messageView.getText().toString()).isEqualTo("start_appended");
+  }
+
+  @Test
+  public void givenCountdown_whenPrecomputeText_thenNothingPrecomputed() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    new SnackbarBuilder(parent)
+        .message("first")
+        .precomputeText(DIRECT_EXECUTOR)
+        .build();
+
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("Deleting in %d")
+        .duration(5000)
+        .countdown()
+        .precomputeText(DIRECT_EXECUTOR);
+
+    assertThat(builder.precomputedMessage).isNull();
+  }
+
+  @Test
+  public void givenCountdownAfterPrecomputeText_whenBuild_thenCountdownMessageNotPrecomputed() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    new SnackbarBuilder(parent)
+        .message("first")
+        .precomputeText(DIRECT_EXECUTOR)
+        .build();
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("Deleting in %d")
+        .appendMessage(" items")
+        .duration(5000)
+        .precomputeText(DIRECT_EXECUTOR)
+        .countdown()
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    assertThat(messageView.getText()).isInstanceOf(SpannableStringBuilder.class);
+    assertThat(messageView.getText().toString()).isEqualTo("Deleting in 5 items");
+  }
+
+  @Test
+  public void givenNoExisting_whenBuildOrUpdate_thenNewWrapperBuilt() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("Uploading 12%")
+        .buildOrUpdate(null);
+
+    assertThat(wrapper.getText().toString()).isEqualTo("Uploading 12%");
+    assertThat(wrapper.isShownOrQueued()).isFalse();
+  }
+
+  @Test
+  public void givenShownExisting_whenBuildOrUpdate_thenExistingUpdatedInPlace() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    SnackbarWrapper existing = new SnackbarBuilder(parent)
+        .message("Uploading 12%")
+        .buildWrapper()
+        .show();
+
+    SnackbarWrapper updated = new SnackbarBuilder(parent)
+        .message("Uploading 13%")
+        .actionText("Cancel")
+        .duration(Snackbar.LENGTH_INDEFINITE)
+        .buildOrUpdate(existing);
+
+    assertThat(updated).isSameAs(existing);
+    assertThat(updated.getText().toString()).isEqualTo("Uploading 13%");
+    assertThat(updated.getActionText().toString()).isEqualTo("Cancel");
+    assertThat(updated.getDuration()).isEqualTo(Snackbar.LENGTH_INDEFINITE);
+    assertThat(updated.isShownOrQueued()).isTrue();
+  }
+
+  @Test
+  public void givenDismissedExisting_whenBuildOrUpdate_thenNewWrapperBuilt() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    SnackbarWrapper existing = new SnackbarBuilder(parent)
+        .message("Uploading 12%")
+        .buildWrapper();
+
+    SnackbarWrapper updated = new SnackbarBuilder(parent)
+        .message("Uploading 13%")
+        .buildOrUpdate(existing);
+
+    assertThat(updated).isNotSameAs(existing);
+  }
+
+  @Test
+  public void whenMessageTemplate_thenMessageFormattedAndKeyedByTemplate() {
+    SnackbarBuilder builder = createBuilder();
+
+    builder.messageTemplate("Sent to {b}%s{/b}", "Bob");
+
+    assertThat(builder.message.toString()).isEqualTo("Sent to Bob");
+    assertThat(builder.messageKey).isEqualTo("Sent to {b}%s{/b}");
+  }
+
+  @Test
+  public void givenTypefaces_whenBuild_thenMessageAndActionTypefacesSet() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .actionText("action")
+        .typeface(Typeface.MONOSPACE)
+        .actionTypeface(Typeface.SERIF)
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    Button button = (Button) snackbar.getView().findViewById(R.id.snackbar_action);
+    assertThat(messageView.getTypeface()).isEqualTo(Typeface.MONOSPACE);
+    assertThat(button.getTypeface()).isEqualTo(Typeface.SERIF);
+  }
+
+  @Test
+  public void givenCachedFont_whenTypefaceRes_thenCachedTypefaceUsed() {
+    SnackbarBuilder builder = createBuilder();
+    TypefaceCache.put(CACHED_FONT_RES_ID, Typeface.MONOSPACE);
+
+    builder.typefaceRes(CACHED_FONT_RES_ID);
+
+    assertThat(builder.typeface).isSameAs(Typeface.MONOSPACE);
+    TypefaceCache.clear();
+  }
+
   @Test
   public void givenIcon_whenBuild_thenIconAddedToSnackbar() {
     RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
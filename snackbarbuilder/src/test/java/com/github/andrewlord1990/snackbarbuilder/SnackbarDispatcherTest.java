@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.CustomShadowToast;
+import com.github.andrewlord1990.snackbarbuilder.toastbuilder.ToastBuilder;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowToast;
+
+import java.util.concurrent.CountDownLatch;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+@Config(shadows = {CustomShadowToast.class})
+public class SnackbarDispatcherTest {
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    Robolectric.getForegroundThreadScheduler().pause();
+  }
+
+  @After
+  public void after() {
+    Robolectric.getForegroundThreadScheduler().unPause();
+  }
+
+  @Test
+  public void givenSeveralRequests_whenShown_thenSingleMainThreadMessagePosted() {
+    SnackbarWrapper first = createWrapper();
+    SnackbarWrapper second = createWrapper();
+
+    SnackbarDispatcher.show(first);
+    SnackbarDispatcher.show(second);
+    SnackbarDispatcher.show(new ToastBuilder(RuntimeEnvironment.application).message("toast"));
+
+    assertThat(Robolectric.getForegroundThreadScheduler().size()).isEqualTo(1);
+    assertThat(first.isShownOrQueued()).isFalse();
+  }
+
+  @Test
+  public void givenRequests_whenMainThreadRuns_thenAllShown() {
+    SnackbarWrapper wrapper = createWrapper();
+
+    SnackbarDispatcher.show(wrapper);
+    SnackbarDispatcher.show(new ToastBuilder(RuntimeEnvironment.application).message("toast"));
+    Robolectric.getForegroundThreadScheduler().runOneTask();
+
+    assertThat(wrapper.isShownOrQueued()).isTrue();
+    assertThat(ShadowToast.shownToastCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenRequestFromBackgroundThread_whenMainThreadRuns_thenShown() throws Exception {
+    final SnackbarWrapper wrapper = createWrapper();
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        SnackbarDispatcher.show(wrapper);
+        latch.countDown();
+      }
+    }).start();
+    latch.await();
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(wrapper.isShownOrQueued()).isTrue();
+  }
+
+  @Test
+  public void givenDrained_whenAnotherRequest_thenNewMessagePosted() {
+    SnackbarDispatcher.show(createWrapper());
+    Robolectric.flushForegroundThreadScheduler();
+
+    SnackbarDispatcher.show(createWrapper());
+
+    assertThat(Robolectric.getForegroundThreadScheduler().size()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenRequestFailsToShow_whenMainThreadRuns_thenLaterRequestsStillShown() {
+    SnackbarBuilder failing = new SnackbarBuilder(parent)
+        .message("Deleting in %d")
+        .duration(Snackbar.LENGTH_INDEFINITE)
+        .countdown();
+    SnackbarWrapper wrapper = createWrapper();
+    SnackbarDispatcher.show(failing);
+    SnackbarDispatcher.show(wrapper);
+
+    try {
+      Robolectric.getForegroundThreadScheduler().runOneTask();
+    } catch (IllegalStateException ignored) {
+      // A countdown needs a timed duration
+    }
+    Robolectric.getForegroundThreadScheduler().runOneTask();
+
+    assertThat(wrapper.isShownOrQueued()).isTrue();
+  }
+
+  @Test
+  public void givenRequestFailedToShow_whenAnotherRequest_thenNewMessagePosted() {
+    SnackbarDispatcher.show(new SnackbarBuilder(parent)
+        .message("Deleting in %d")
+        .duration(Snackbar.LENGTH_INDEFINITE)
+        .countdown());
+    try {
+      Robolectric.getForegroundThreadScheduler().runOneTask();
+    } catch (IllegalStateException ignored) {
+      // A countdown needs a timed duration
+    }
+
+    SnackbarDispatcher.show(createWrapper());
+
+    assertThat(Robolectric.getForegroundThreadScheduler().size()).isEqualTo(1);
+  }
+
+  private SnackbarWrapper createWrapper() {
+    return new SnackbarBuilder(parent)
+        .message("message")
+        .buildWrapper();
+  }
+
+}
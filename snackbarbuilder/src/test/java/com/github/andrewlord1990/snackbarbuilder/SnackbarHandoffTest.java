@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.Activity;
+import android.graphics.drawable.ColorDrawable;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.ClickableSpan;
+import android.text.style.ForegroundColorSpan;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.github.andrewlord1990.snackbarbuilder.parent.SnackbarParentFinder;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarHandoffTest {
+
+  private static final SnackbarParentFinder CONTENT_PARENT_FINDER = new SnackbarParentFinder() {
+    @Override
+    public View findSnackbarParent(Activity activity) {
+      return activity.findViewById(android.R.id.content);
+    }
+  };
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void after() {
+    SnackbarHandoff.clear();
+  }
+
+  @Test
+  public void givenNothingHandedOff_whenResume_thenNull() {
+    assertThat(SnackbarHandoff.hasPending()).isFalse();
+    assertThat(SnackbarHandoff.resume(createActivity(), CONTENT_PARENT_FINDER)).isNull();
+  }
+
+  @Test
+  public void givenHandedOff_whenResume_thenBuilderRestoredOnNewParent() {
+    ColorDrawable icon = new ColorDrawable(0xFF123456);
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("Saved")
+        .actionText("Undo")
+        .messageTextColor(0xFF111111)
+        .icon(icon)
+        .duration(Snackbar.LENGTH_INDEFINITE);
+    SnackbarHandoff.handOff(builder, builder.buildWrapper());
+    Activity activity = createActivity();
+
+    SnackbarBuilder resumed = SnackbarHandoff.resume(activity, CONTENT_PARENT_FINDER);
+
+    assertThat(resumed).isNotNull();
+    assertThat(resumed.parentView).isEqualTo(activity.findViewById(android.R.id.content));
+    assertThat(resumed.message.toString()).isEqualTo("Saved");
+    assertThat(resumed.actionText.toString()).isEqualTo("Undo");
+    assertThat(resumed.messageTextColor).isEqualTo(0xFF111111);
+    assertThat(resumed.duration).isEqualTo(Snackbar.LENGTH_INDEFINITE);
+    assertThat(((ColorDrawable) resumed.icon).getColor()).isEqualTo(0xFF123456);
+  }
+
+  @Test
+  public void givenResumed_whenResumeAgain_thenNull() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("Saved")
+        .duration(Snackbar.LENGTH_INDEFINITE);
+    SnackbarHandoff.handOff(builder, builder.buildWrapper());
+    SnackbarHandoff.resume(createActivity(), CONTENT_PARENT_FINDER);
+
+    assertThat(SnackbarHandoff.hasPending()).isFalse();
+    assertThat(SnackbarHandoff.resume(createActivity(), CONTENT_PARENT_FINDER)).isNull();
+  }
+
+  @Test
+  public void givenMessageWithClickableSpan_whenHandedOff_thenOnlyParcelableSpansHeld() {
+    SpannableString message = new SpannableString("Saved");
+    message.setSpan(new ClickableSpan() {
+      @Override
+      public void onClick(View widget) {
+      }
+    }, 0, 5, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    message.setSpan(new ForegroundColorSpan(0xFF123456), 0, 5, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message(message)
+        .duration(Snackbar.LENGTH_INDEFINITE);
+
+    SnackbarHandoff.handOff(builder, builder.buildWrapper());
+
+    Spanned held = (Spanned) SnackbarHandoff.PENDING.get().state.message;
+    assertThat(held.getSpans(0, held.length(), ClickableSpan.class)).isEmpty();
+    assertThat(held.getSpans(0, held.length(), ForegroundColorSpan.class)).hasSize(1);
+  }
+
+  @Test
+  public void givenHandoff_whenTimePassed_thenRemainingDurationReduced() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent).duration(2000);
+    SnackbarHandoff.Handoff handoff = new SnackbarHandoff.Handoff(builder.saveState(), null, 1000);
+
+    assertThat(handoff.remainingDuration(1500)).isEqualTo(1500);
+  }
+
+  @Test
+  public void givenHandoff_whenDurationPassed_thenExpired() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent).duration(Snackbar.LENGTH_SHORT);
+    SnackbarHandoff.Handoff handoff = new SnackbarHandoff.Handoff(builder.saveState(), null, 1000);
+
+    assertThat(handoff.remainingDuration(5000)).isEqualTo(SnackbarHandoff.Handoff.EXPIRED);
+  }
+
+  @Test
+  public void givenIndefiniteHandoff_whenTimePassed_thenStillIndefinite() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent).duration(Snackbar.LENGTH_INDEFINITE);
+    SnackbarHandoff.Handoff handoff = new SnackbarHandoff.Handoff(builder.saveState(), null, 1000);
+
+    assertThat(handoff.remainingDuration(100000)).isEqualTo(Snackbar.LENGTH_INDEFINITE);
+  }
+
+  private Activity createActivity() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    activity.setContentView(new FrameLayout(activity));
+    return activity;
+  }
+
+}
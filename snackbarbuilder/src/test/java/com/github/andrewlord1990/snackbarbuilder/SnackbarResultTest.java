@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarResultTest {
+
+  private SnackbarWrapper wrapper;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildWrapper();
+  }
+
+  @Test
+  public void whenShowForResult_thenNotDone() {
+    SnackbarResult result = wrapper.showForResult();
+
+    assertThat(result.isDone()).isFalse();
+    assertThat(result.isCancelled()).isFalse();
+  }
+
+  @Test
+  public void givenResult_whenDismissed_thenCompletesWithDismissEvent() throws Exception {
+    SnackbarResult result = wrapper.showForResult();
+
+    result.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.get()).isEqualTo(Snackbar.Callback.DISMISS_EVENT_ACTION);
+    assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(Snackbar.Callback.DISMISS_EVENT_ACTION);
+  }
+
+  @Test
+  public void givenListener_whenDismissed_thenListenerCalledOnce() {
+    SnackbarResult result = wrapper.showForResult();
+    RecordingListener listener = new RecordingListener();
+    result.setListener(listener);
+
+    result.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_SWIPE);
+    result.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+
+    assertThat(listener.calls).isEqualTo(1);
+    assertThat(listener.dismissEvent).isEqualTo(Snackbar.Callback.DISMISS_EVENT_SWIPE);
+  }
+
+  @Test
+  public void givenDismissed_whenListenerSet_thenCalledStraightAway() {
+    SnackbarResult result = wrapper.showForResult();
+    result.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    RecordingListener listener = new RecordingListener();
+
+    result.setListener(listener);
+
+    assertThat(listener.calls).isEqualTo(1);
+    assertThat(listener.dismissEvent).isEqualTo(Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+  }
+
+  @Test
+  public void givenPendingResult_whenShowForResultAgain_thenSameResultReturned() {
+    SnackbarResult result = wrapper.showForResult();
+
+    assertThat(wrapper.showForResult()).isSameAs(result);
+  }
+
+  @Test
+  public void givenDoneResult_whenShowForResultAgain_thenNewResultReturned() {
+    SnackbarResult result = wrapper.showForResult();
+    result.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+
+    assertThat(wrapper.showForResult()).isNotSameAs(result);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void givenPendingResult_whenGetOnMainThread_thenThrows() throws Exception {
+    wrapper.showForResult().get();
+  }
+
+  @Test(expected = CancellationException.class)
+  public void givenCancelled_whenGet_thenThrows() throws Exception {
+    SnackbarResult result = wrapper.showForResult();
+
+    assertThat(result.cancel(false)).isTrue();
+    assertThat(result.isCancelled()).isTrue();
+    result.get();
+  }
+
+  @Test
+  public void givenDismissed_whenCancel_thenNotCancelled() {
+    SnackbarResult result = wrapper.showForResult();
+    result.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_MANUAL);
+
+    assertThat(result.cancel(true)).isFalse();
+    assertThat(result.isCancelled()).isFalse();
+  }
+
+  private static class RecordingListener implements SnackbarResult.Listener {
+
+    int calls;
+    int dismissEvent;
+
+    @Override
+    public void onResult(int dismissEvent) {
+      calls++;
+      this.dismissEvent = dismissEvent;
+    }
+  }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Color;
+import android.os.Parcel;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarStateTest {
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @Test
+  public void givenSavedState_whenParcelledAndRestored_thenOptionsRestored() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message")
+        .messageKey("key")
+        .appendMessage("appended", Color.BLUE)
+        .actionText("action")
+        .duration(Snackbar.LENGTH_SHORT)
+        .actionAllCaps(false)
+        .backgroundColor(0xFF111111)
+        .actionTextColor(0xFF222222)
+        .messageTextColor(0xFF333333)
+        .iconMargin(12);
+
+    SnackbarState state = parcel(builder.saveState());
+    SnackbarBuilder restored = new SnackbarBuilder(parent).restoreState(state);
+
+    assertThat(restored.message.toString()).isEqualTo("message");
+    assertThat(restored.messageKey).isEqualTo("key");
+    assertThat(restored.appendMessages.toString()).isEqualTo("appended");
+    assertThat(restored.actionText.toString()).isEqualTo("action");
+    assertThat(restored.duration).isEqualTo(Snackbar.LENGTH_SHORT);
+    assertThat(restored.actionAllCaps).isFalse();
+    assertThat(restored.backgroundColor).isEqualTo(0xFF111111);
+    assertThat(restored.actionTextColor).isEqualTo(0xFF222222);
+    assertThat(restored.messageTextColor).isEqualTo(0xFF333333);
+    assertThat(restored.iconMargin).isEqualTo(12);
+  }
+
+  @Test
+  public void givenNotShown_whenSaveStateWithWrapper_thenFullDurationKept() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message")
+        .duration(Snackbar.LENGTH_LONG);
+    SnackbarWrapper wrapper = builder.buildWrapper();
+
+    SnackbarState state = builder.saveState(wrapper);
+
+    assertThat(state.getDuration()).isEqualTo(Snackbar.LENGTH_LONG);
+    assertThat(state.isExpired()).isFalse();
+  }
+
+  @Test
+  public void givenNotShown_whenGetRemainingMillis_thenTotalDuration() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .duration(Snackbar.LENGTH_SHORT)
+        .buildWrapper();
+
+    assertThat(wrapper.getRemainingMillis()).isEqualTo(1500);
+  }
+
+  @Test
+  public void givenIndefinite_whenGetRemainingMillis_thenMaxValue() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .duration(Snackbar.LENGTH_INDEFINITE)
+        .buildWrapper();
+
+    assertThat(wrapper.getRemainingMillis()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void givenSaved_whenBuilderAppendsMore_thenSavedMessageUnchanged() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message")
+        .appendMessage("first");
+    SnackbarState state = builder.saveState();
+
+    builder.appendMessage("second");
+
+    assertThat(state.appendMessages.toString()).isEqualTo("first");
+  }
+
+  @Test
+  public void givenShown_whenTimePasses_thenRemainingMillisReduced() {
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .duration(Snackbar.LENGTH_LONG)
+        .buildWrapper()
+        .show();
+    wrapper.visibilityTracker.onShown(wrapper.getSnackbar());
+
+    ShadowSystemClock.sleep(1000);
+
+    assertThat(wrapper.getRemainingMillis()).isEqualTo(1750);
+  }
+
+  @Test
+  public void givenShownAndTimePassed_whenSaveStateAndRestore_thenRemainingDurationRestored() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message")
+        .duration(Snackbar.LENGTH_LONG);
+    SnackbarWrapper wrapper = builder.buildWrapper().show();
+    wrapper.visibilityTracker.onShown(wrapper.getSnackbar());
+    ShadowSystemClock.sleep(1000);
+
+    SnackbarState state = parcel(builder.saveState(wrapper));
+    SnackbarBuilder restored = new SnackbarBuilder(parent).restoreState(state);
+
+    assertThat(state.getDuration()).isEqualTo(1750);
+    assertThat(restored.duration).isEqualTo(1750);
+    assertThat(restored.build().getDuration()).isEqualTo(1750);
+  }
+
+  @Test
+  public void givenDismissed_whenSaveState_thenFullDurationKept() {
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .message("message")
+        .duration(Snackbar.LENGTH_LONG);
+    SnackbarWrapper wrapper = builder.buildWrapper().show();
+    wrapper.visibilityTracker.onShown(wrapper.getSnackbar());
+    ShadowSystemClock.sleep(1000);
+    wrapper.visibilityTracker.onDismissed(wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_SWIPE);
+
+    SnackbarState state = builder.saveState(wrapper);
+
+    assertThat(state.getDuration()).isEqualTo(Snackbar.LENGTH_LONG);
+  }
+
+  private static SnackbarState parcel(SnackbarState state) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      state.writeToParcel(parcel, 0);
+      parcel.setDataPosition(0);
+      return SnackbarState.CREATOR.createFromParcel(parcel);
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+}
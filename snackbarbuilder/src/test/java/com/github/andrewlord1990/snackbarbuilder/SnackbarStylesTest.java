@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarStylesTest {
+
+  private CoordinatorLayout parent;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void after() {
+    SnackbarStyles.unregister("error");
+    SnackbarStyles.unregister("template");
+  }
+
+  @Test
+  public void givenStyleResource_whenStyle_thenStyleAttributesApplied() {
+    SnackbarStyles.register(RuntimeEnvironment.application, "error", R.style.TestSnackbarBuilder_NamedStyle);
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .messageTextColor(0xFF123456);
+
+    builder.style("error");
+
+    assertThat(builder.backgroundColor).isEqualTo(0xFFB00020);
+    assertThat(builder.duration).isEqualTo(Snackbar.LENGTH_SHORT);
+    assertThat(builder.actionAllCaps).isFalse();
+    assertThat(builder.messageTextColor).isEqualTo(0xFF123456);
+  }
+
+  @Test
+  public void givenTemplateBuilder_whenStyle_thenTemplateOptionsApplied() {
+    ColorDrawable icon = new ColorDrawable(Color.RED);
+    SnackbarStyles.register("template", new SnackbarBuilder(parent)
+        .actionTextColor(0xFF654321)
+        .icon(icon)
+        .iconMargin(20)
+        .duration(Snackbar.LENGTH_INDEFINITE));
+
+    SnackbarBuilder builder = new SnackbarBuilder(parent).style("template");
+
+    assertThat(builder.actionTextColor).isEqualTo(0xFF654321);
+    assertThat(builder.iconMargin).isEqualTo(20);
+    assertThat(builder.duration).isEqualTo(Snackbar.LENGTH_INDEFINITE);
+    assertThat(builder.icon).isNotNull().isNotSameAs(icon);
+    assertThat(builder.icon.getConstantState()).isSameAs(icon.getConstantState());
+  }
+
+  @Test
+  public void givenStyleApplied_whenOptionSetAfterwards_thenOptionOverridesStyle() {
+    SnackbarStyles.register(RuntimeEnvironment.application, "error", R.style.TestSnackbarBuilder_NamedStyle);
+
+    SnackbarBuilder builder = new SnackbarBuilder(parent)
+        .style("error")
+        .backgroundColor(0xFF000000);
+
+    assertThat(builder.backgroundColor).isEqualTo(0xFF000000);
+  }
+
+  @Test
+  public void whenRegister_thenIsRegistered() {
+    SnackbarStyles.register(RuntimeEnvironment.application, "error", R.style.TestSnackbarBuilder_NamedStyle);
+
+    assertThat(SnackbarStyles.isRegistered("error")).isTrue();
+    assertThat(SnackbarStyles.isRegistered("missing")).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenUnknownStyle_whenStyle_thenExceptionThrown() {
+    new SnackbarBuilder(parent).style("missing");
+  }
+
+}
@@ -16,10 +16,12 @@
 
 package com.github.andrewlord1990.snackbarbuilder;
 
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.Resources;
 import android.graphics.Color;
+import android.graphics.Typeface;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.DrawableRes;
@@ -320,19 +322,32 @@ public class SnackbarWrapperTest {
   }
 
   @Test
-  public void whenSetBackgroundColor_thenBackgroundColorSet() {
+  @TargetApi(21)
+  public void whenSetBackgroundColor_thenBackgroundTintedKeepingDrawable() {
+    Drawable background = wrapper.getView().getBackground();
+
     wrapper.setBackgroundColor(Color.MAGENTA);
 
-    Assertions.assertThat((ColorDrawable) wrapper.getView().getBackground())
-        .hasColor(Color.MAGENTA);
+    assertThat(wrapper.getView().getBackground()).isSameAs(background);
+    assertThat(wrapper.getView().getBackgroundTintList().getDefaultColor()).isEqualTo(Color.MAGENTA);
   }
 
   @Test
-  public void whenSetBackgroundColorResId_thenBackgroundColorSet() {
+  @TargetApi(21)
+  public void whenSetBackgroundColorResId_thenBackgroundTinted() {
     wrapper.setBackgroundColorRes(R.color.snackbarbuilder_default_message);
 
+    assertThat(wrapper.getView().getBackgroundTintList().getDefaultColor()).isEqualTo(Color.WHITE);
+  }
+
+  @Test
+  public void givenNoBackground_whenSetBackgroundColor_thenColorDrawableSet() {
+    wrapper.getView().setBackgroundResource(0);
+
+    wrapper.setBackgroundColor(Color.MAGENTA);
+
     Assertions.assertThat((ColorDrawable) wrapper.getView().getBackground())
-        .hasColor(Color.WHITE);
+        .hasColor(Color.MAGENTA);
   }
 
   @Test
@@ -445,4 +460,39 @@ public class SnackbarWrapperTest {
     int[] colors = new int[] {Color.RED, Color.CYAN};
     return new ColorStateList(states, colors);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void givenQueued_whenRestartTimeout_thenStillQueuedWithDuration() {
+    wrapper.show();
+    wrapper.setDuration(4000);
+
+    wrapper.restartTimeout();
+
+    assertThat(wrapper.isShownOrQueued()).isTrue();
+    assertThat(wrapper.getDuration()).isEqualTo(4000);
+  }
+
+  @Test
+  public void givenNotShown_whenRestartTimeout_thenNotShown() {
+    wrapper.restartTimeout();
+
+    assertThat(wrapper.isShownOrQueued()).isFalse();
+  }
+
+  @Test
+  public void whenSetTypeface_thenMessageTypefaceSet() {
+    wrapper.setTypeface(Typeface.MONOSPACE);
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    assertThat(messageView.getTypeface()).isEqualTo(Typeface.MONOSPACE);
+  }
+
+  @Test
+  public void whenSetActionTypeface_thenActionTypefaceSet() {
+    wrapper.setActionTypeface(Typeface.SERIF);
+
+    Button button = (Button) snackbar.getView().findViewById(R.id.snackbar_action);
+    assertThat(button.getTypeface()).isEqualTo(Typeface.SERIF);
+  }
+
+}
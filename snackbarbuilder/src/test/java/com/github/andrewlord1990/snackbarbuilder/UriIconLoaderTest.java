@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowContentResolver;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.imageio.ImageIO;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class UriIconLoaderTest {
+
+  private static final Uri ICON_URI = Uri.parse("file:///data/avatars/user.png");
+
+  private CoordinatorLayout parent;
+  private QueueingExecutor executor;
+  private int iconSize;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    executor = new QueueingExecutor();
+    iconSize = RuntimeEnvironment.application.getResources()
+        .getDimensionPixelSize(R.dimen.snackbarbuilder_icon_size_default);
+  }
+
+  @After
+  public void after() {
+    UriIconLoader.clear();
+  }
+
+  @Test
+  public void givenImageMuchLargerThanIcon_whenCalculateSampleSize_thenLargestPowerOfTwoKeepingIconSize() {
+    assertThat(UriIconLoader.calculateSampleSize(1024, 768, 96)).isEqualTo(4);
+  }
+
+  @Test
+  public void givenImageSmallerThanTwiceIcon_whenCalculateSampleSize_thenNotSampled() {
+    assertThat(UriIconLoader.calculateSampleSize(150, 400, 96)).isEqualTo(1);
+  }
+
+  @Test
+  public void givenIconInMemoryCache_whenBuild_thenIconSetWithoutLoading() {
+    UriIconLoader.put(ICON_URI, iconSize, createBitmap());
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(ICON_URI, executor)
+        .build();
+
+    assertThat(getIcon(snackbar)).isNotNull();
+    assertThat(executor.tasks).isEmpty();
+  }
+
+  @Test
+  public void givenIconNotCached_whenBuild_thenShownWithPlaceholderUntilLoaded() {
+    Drawable placeholder = new ColorDrawable();
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(placeholder)
+        .icon(ICON_URI, executor)
+        .build();
+
+    assertThat(getIcon(snackbar)).isSameAs(placeholder);
+    assertThat(executor.tasks).hasSize(1);
+    UriIconLoader.put(ICON_URI, iconSize, createBitmap());
+    executor.runAll();
+    assertThat(getIcon(snackbar)).isNotNull().isNotSameAs(placeholder);
+  }
+
+  @Test
+  public void givenIconReplacedWhileLoading_whenLoaded_thenReplacementKept() {
+    Drawable replacement = new ColorDrawable();
+    SnackbarWrapper wrapper = new SnackbarBuilder(parent)
+        .message("message")
+        .buildWrapper()
+        .setIcon(ICON_URI, executor)
+        .setIcon(replacement);
+
+    UriIconLoader.put(ICON_URI, iconSize, createBitmap());
+    executor.runAll();
+
+    assertThat(getIcon(wrapper.getSnackbar())).isSameAs(replacement);
+  }
+
+  @Test
+  public void givenMissingFile_whenLoaded_thenNoIconSet() {
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(Uri.parse("file:///data/avatars/missing.png"), executor)
+        .build();
+
+    executor.runAll();
+
+    assertThat(getIcon(snackbar)).isNull();
+  }
+
+  @Test
+  public void whenGetDiskCacheFile_thenInsideAppCacheDirectoryAndKeyedBySize() {
+    File small = UriIconLoader.getDiskCacheFile(RuntimeEnvironment.application, ICON_URI, 24);
+    File large = UriIconLoader.getDiskCacheFile(RuntimeEnvironment.application, ICON_URI, 48);
+
+    assertThat(small.getPath()).startsWith(RuntimeEnvironment.application.getCacheDir().getPath());
+    assertThat(small).isNotEqualTo(large);
+  }
+
+  @Test
+  public void givenUrisWithSameHashCode_whenGetDiskCacheFile_thenDifferentFiles() {
+    // "Aa" and "BB" have the same String hash code
+    Uri first = Uri.parse("file:///data/avatars/Aa.png");
+    Uri second = Uri.parse("file:///data/avatars/BB.png");
+    assertThat(first.toString().hashCode()).isEqualTo(second.toString().hashCode());
+
+    assertThat(UriIconLoader.getDiskCacheFile(RuntimeEnvironment.application, first, 24))
+        .isNotEqualTo(UriIconLoader.getDiskCacheFile(RuntimeEnvironment.application, second, 24));
+  }
+
+  @Test
+  public void givenPngFile_whenLoaded_thenDecodedToIconSizeAndCachedOnDisk() throws IOException {
+    File file = writePng("avatar.png", 300, 200);
+    Uri uri = Uri.fromFile(file);
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(uri, executor)
+        .build();
+    executor.runAll();
+
+    Bitmap bitmap = ((BitmapDrawable) getIcon(snackbar)).getBitmap();
+    assertThat(bitmap.getWidth()).isEqualTo(iconSize);
+    assertThat(bitmap.getHeight()).isEqualTo(iconSize);
+    assertThat(UriIconLoader.getDiskCacheFile(RuntimeEnvironment.application, uri, iconSize)).exists();
+  }
+
+  @Test
+  public void givenIconOnlyOnDisk_whenLoaded_thenLoadedFromDiskCache() throws IOException {
+    File file = writePng("avatar.png", 300, 200);
+    Uri uri = Uri.fromFile(file);
+    new SnackbarBuilder(parent)
+        .message("message")
+        .icon(uri, executor)
+        .build();
+    executor.runAll();
+    UriIconLoader.clear();
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(uri, executor)
+        .build();
+    assertThat(getIcon(snackbar)).isNull();
+    assertThat(file.delete()).isTrue();
+    executor.runAll();
+
+    assertThat(getIcon(snackbar)).isNotNull();
+  }
+
+  @Test
+  public void givenContentUri_whenLoaded_thenNotCachedOnDisk() throws IOException {
+    File file = writePng("avatar.png", 300, 200);
+    Uri uri = Uri.parse("content://com.example.avatars/user/1");
+    ShadowContentResolver contentResolver = Shadows.shadowOf(RuntimeEnvironment.application.getContentResolver());
+    contentResolver.registerInputStream(uri, new FileInputStream(file));
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .icon(uri, executor)
+        .build();
+    executor.runAll();
+
+    assertThat(getIcon(snackbar)).isNotNull();
+    assertThat(UriIconLoader.getDiskCacheFile(RuntimeEnvironment.application, uri, iconSize)).doesNotExist();
+  }
+
+  @Test
+  public void givenWideImage_whenCentreCrop_thenSquareIconWithoutStretching() {
+    Bitmap wide = Bitmap.createBitmap(300, 200, Bitmap.Config.ARGB_8888);
+
+    Bitmap icon = UriIconLoader.centreCrop(wide, 24);
+
+    assertThat(icon.getWidth()).isEqualTo(24);
+    assertThat(icon.getHeight()).isEqualTo(24);
+  }
+
+  private File writePng(String name, int width, int height) throws IOException {
+    File file = new File(RuntimeEnvironment.application.getFilesDir(), name);
+    assertThat(ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", file)).isTrue();
+    return file;
+  }
+
+  private Bitmap createBitmap() {
+    return Bitmap.createBitmap(iconSize, iconSize, Bitmap.Config.ARGB_8888);
+  }
+
+  private static Drawable getIcon(Snackbar snackbar) {
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    return messageView.getCompoundDrawables()[0];
+  }
+
+  private static class QueueingExecutor implements Executor {
+
+    final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      tasks.add(command);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.ContextThemeWrapper;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class VectorIconCacheTest {
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+  }
+
+  @After
+  public void after() {
+    VectorIconCache.clear();
+  }
+
+  @Test
+  public void whenGet_thenBitmapOfRequestedSize() {
+    Drawable icon = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48, 0);
+
+    assertThat(icon).isInstanceOf(BitmapDrawable.class);
+    assertThat(((BitmapDrawable) icon).getBitmap().getWidth()).isEqualTo(48);
+    assertThat(icon.getIntrinsicWidth()).isEqualTo(48);
+  }
+
+  @Test
+  public void givenSameKey_whenGet_thenBitmapShared() {
+    Drawable first = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48, 0);
+    Drawable second = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48, 0);
+
+    assertThat(((BitmapDrawable) second).getBitmap()).isSameAs(((BitmapDrawable) first).getBitmap());
+  }
+
+  @Test
+  public void givenDifferentSizeOrTint_whenGet_thenSeparateBitmaps() {
+    Drawable icon = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48, 0);
+    Drawable larger = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 64, 0);
+    Drawable tinted = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48,
+        0xFFFF0000);
+
+    assertThat(((BitmapDrawable) larger).getBitmap()).isNotSameAs(((BitmapDrawable) icon).getBitmap());
+    assertThat(((BitmapDrawable) tinted).getBitmap()).isNotSameAs(((BitmapDrawable) icon).getBitmap());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void givenDifferentUiMode_whenGet_thenSeparateBitmaps() {
+    Drawable icon = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48, 0);
+    Resources resources = RuntimeEnvironment.application.getResources();
+    Configuration night = new Configuration(resources.getConfiguration());
+    night.uiMode = Configuration.UI_MODE_NIGHT_YES | Configuration.UI_MODE_TYPE_NORMAL;
+    resources.updateConfiguration(night, resources.getDisplayMetrics());
+
+    Drawable nightIcon = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48,
+        0);
+
+    assertThat(((BitmapDrawable) nightIcon).getBitmap()).isNotSameAs(((BitmapDrawable) icon).getBitmap());
+  }
+
+  @Test
+  public void givenThemeWithDifferentColorsAndNoTint_whenGet_thenSeparateBitmaps() {
+    Context themed = new ContextThemeWrapper(RuntimeEnvironment.application, R.style.TestSnackbarBuilder_FallbackTheme);
+
+    Drawable icon = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48, 0);
+    Drawable themedIcon = VectorIconCache.get(themed, R.drawable.test_snackbarbuilder_vector, 48, 0);
+
+    assertThat(((BitmapDrawable) themedIcon).getBitmap()).isNotSameAs(((BitmapDrawable) icon).getBitmap());
+  }
+
+  @Test
+  public void givenRecreatedActivityWithSameTheme_whenGet_thenBitmapShared() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    activity.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    Drawable icon = VectorIconCache.get(activity, R.drawable.test_snackbarbuilder_vector, 48, 0);
+    Activity recreated = Robolectric.setupActivity(Activity.class);
+    recreated.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+
+    Drawable recreatedIcon = VectorIconCache.get(recreated, R.drawable.test_snackbarbuilder_vector, 48, 0);
+
+    assertThat(recreated.getTheme()).isNotSameAs(activity.getTheme());
+    assertThat(((BitmapDrawable) recreatedIcon).getBitmap()).isSameAs(((BitmapDrawable) icon).getBitmap());
+  }
+
+  @Test
+  public void givenDifferentThemeAndTint_whenGet_thenBitmapShared() {
+    Context themed = new ContextThemeWrapper(RuntimeEnvironment.application, R.style.TestSnackbarBuilder_CustomTheme);
+
+    Drawable icon = VectorIconCache.get(RuntimeEnvironment.application, R.drawable.test_snackbarbuilder_vector, 48,
+        0xFFFF0000);
+    Drawable themedIcon = VectorIconCache.get(themed, R.drawable.test_snackbarbuilder_vector, 48, 0xFFFF0000);
+
+    assertThat(((BitmapDrawable) themedIcon).getBitmap()).isSameAs(((BitmapDrawable) icon).getBitmap());
+  }
+
+  @Test
+  public void whenVectorIcon_thenIconSetOnMessageAtDefaultSize() {
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+
+    Snackbar snackbar = new SnackbarBuilder(parent)
+        .message("message")
+        .vectorIcon(R.drawable.test_snackbarbuilder_vector)
+        .build();
+
+    TextView messageView = (TextView) snackbar.getView().findViewById(R.id.snackbar_text);
+    int defaultSize = RuntimeEnvironment.application.getResources()
+        .getDimensionPixelSize(R.dimen.snackbarbuilder_icon_size_default);
+    assertThat(messageView.getCompoundDrawables()[0].getIntrinsicWidth()).isEqualTo(defaultSize);
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.Robolectric;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarEventsTest {
+
+  @Mock
+  Snackbar snackbar;
+  private RecordingListener listener;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+
+    listener = new RecordingListener();
+    SnackbarEvents.subscribe(listener);
+  }
+
+  @After
+  public void after() {
+    SnackbarEvents.unsubscribe(listener);
+  }
+
+  @Test
+  public void givenSubscriber_whenHasSubscribers_thenTrue() {
+    assertThat(SnackbarEvents.hasSubscribers()).isTrue();
+  }
+
+  @Test
+  public void givenUnsubscribed_whenHasSubscribers_thenFalse() {
+    SnackbarEvents.unsubscribe(listener);
+
+    assertThat(SnackbarEvents.hasSubscribers()).isFalse();
+  }
+
+  @Test
+  public void givenShownAndDismissed_whenFrameDispatched_thenEventsDeliveredInSingleBatch() {
+    Snackbar.Callback tracker = SnackbarEvents.tracker("key");
+
+    tracker.onShown(snackbar);
+    ShadowSystemClock.sleep(1200);
+    tracker.onDismissed(snackbar, Snackbar.Callback.DISMISS_EVENT_SWIPE);
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(listener.batches).hasSize(1);
+    List<SnackbarEvent> events = listener.batches.get(0);
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getType()).isEqualTo(SnackbarEvent.TYPE_SHOWN);
+    assertThat(events.get(0).getMessageKey()).isEqualTo("key");
+    assertThat(events.get(0).getDismissEvent()).isEqualTo(SnackbarEvent.NO_DISMISS_EVENT);
+    assertThat(events.get(1).getType()).isEqualTo(SnackbarEvent.TYPE_DISMISSED);
+    assertThat(events.get(1).getDismissEvent()).isEqualTo(Snackbar.Callback.DISMISS_EVENT_SWIPE);
+    assertThat(events.get(1).getDurationMillis()).isEqualTo(1200);
+  }
+
+  @Test
+  public void givenDismissedBeforeShown_whenFrameDispatched_thenDurationZero() {
+    Snackbar.Callback tracker = SnackbarEvents.tracker("key");
+
+    tracker.onDismissed(snackbar, Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(listener.batches).hasSize(1);
+    assertThat(listener.batches.get(0).get(0).getShownAtMillis()).isEqualTo(0);
+    assertThat(listener.batches.get(0).get(0).getDurationMillis()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenUnsubscribed_whenEventPublished_thenNotNotified() {
+    SnackbarEvents.unsubscribe(listener);
+
+    SnackbarEvents.tracker("key").onShown(snackbar);
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(listener.batches).isEmpty();
+  }
+
+  @Test
+  public void givenSubscribedTwice_whenEventPublished_thenNotifiedOnce() {
+    SnackbarEvents.subscribe(listener);
+
+    SnackbarEvents.tracker("key").onShown(snackbar);
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(listener.batches).hasSize(1);
+  }
+
+  private static class RecordingListener implements SnackbarEventListener {
+
+    final List<List<SnackbarEvent>> batches = new ArrayList<>();
+
+    @Override
+    public void onSnackbarEvents(List<SnackbarEvent> events) {
+      batches.add(new ArrayList<>(events));
+    }
+  }
+
+}
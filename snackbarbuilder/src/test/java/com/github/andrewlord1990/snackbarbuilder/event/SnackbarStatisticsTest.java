@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.event;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class SnackbarStatisticsTest {
+
+  private SnackbarStatistics statistics;
+
+  @Before
+  public void before() {
+    statistics = new SnackbarStatistics();
+  }
+
+  @Test
+  public void givenEvents_whenSnapshot_thenDismissesCountedPerReason() {
+    record(shown("first"), dismissed("first", Snackbar.Callback.DISMISS_EVENT_ACTION, 500),
+        shown("second"), dismissed("second", Snackbar.Callback.DISMISS_EVENT_TIMEOUT, 2750),
+        shown("first"), dismissed("first", Snackbar.Callback.DISMISS_EVENT_TIMEOUT, 2750));
+
+    SnackbarStatistics.Snapshot snapshot = statistics.snapshot();
+
+    assertThat(snapshot.getShownCount()).isEqualTo(3);
+    assertThat(snapshot.getShownCount("first")).isEqualTo(2);
+    assertThat(snapshot.getDismissCount(Snackbar.Callback.DISMISS_EVENT_TIMEOUT)).isEqualTo(2);
+    assertThat(snapshot.getDismissCount(Snackbar.Callback.DISMISS_EVENT_ACTION)).isEqualTo(1);
+    assertThat(snapshot.getDismissCount("first", Snackbar.Callback.DISMISS_EVENT_TIMEOUT)).isEqualTo(1);
+    assertThat(snapshot.getMessageKeys()).containsOnly("first", "second");
+  }
+
+  @Test
+  public void givenDismissals_whenSnapshot_thenVisibleDurationsBucketed() {
+    record(dismissed("key", Snackbar.Callback.DISMISS_EVENT_SWIPE, 400),
+        dismissed("key", Snackbar.Callback.DISMISS_EVENT_SWIPE, 900),
+        dismissed("key", Snackbar.Callback.DISMISS_EVENT_TIMEOUT, 60000));
+
+    SnackbarStatistics.Snapshot snapshot = statistics.snapshot();
+
+    int[] histogram = snapshot.getVisibleDurationHistogram("key");
+    assertThat(histogram).hasSize(SnackbarStatistics.BUCKET_COUNT);
+    assertThat(histogram[0]).isEqualTo(1);
+    assertThat(histogram[1]).isEqualTo(1);
+    assertThat(histogram[SnackbarStatistics.BUCKET_COUNT - 1]).isEqualTo(1);
+    assertThat(snapshot.getTotalVisibleMillis("key")).isEqualTo(61300);
+  }
+
+  @Test
+  public void givenSnapshotTaken_whenMoreEventsRecorded_thenSnapshotUnchanged() {
+    record(shown("key"));
+    SnackbarStatistics.Snapshot snapshot = statistics.snapshot();
+
+    record(shown("key"));
+
+    assertThat(snapshot.getShownCount("key")).isEqualTo(1);
+  }
+
+  @Test
+  public void whenReset_thenStatisticsCleared() {
+    record(shown("key"), dismissed("key", Snackbar.Callback.DISMISS_EVENT_MANUAL, 100));
+
+    statistics.reset();
+
+    SnackbarStatistics.Snapshot snapshot = statistics.snapshot();
+    assertThat(snapshot.getShownCount()).isEqualTo(0);
+    assertThat(snapshot.getDismissCount(Snackbar.Callback.DISMISS_EVENT_MANUAL)).isEqualTo(0);
+    assertThat(snapshot.getMessageKeys()).isEmpty();
+  }
+
+  @Test
+  public void givenNoMessageKey_whenSnapshot_thenCountedOverallOnly() {
+    record(shown(null), dismissed(null, Snackbar.Callback.DISMISS_EVENT_TIMEOUT, 2750));
+
+    SnackbarStatistics.Snapshot snapshot = statistics.snapshot();
+
+    assertThat(snapshot.getShownCount()).isEqualTo(1);
+    assertThat(snapshot.getDismissCount(Snackbar.Callback.DISMISS_EVENT_TIMEOUT)).isEqualTo(1);
+    assertThat(snapshot.getMessageKeys()).isEmpty();
+  }
+
+  @Test
+  public void givenMoreKeysThanMaximum_whenSnapshot_thenExtraKeysCountedAsOther() {
+    int keyCount = SnackbarStatistics.MAX_MESSAGE_KEYS + 10;
+    for (int i = 0; i < keyCount; i++) {
+      record(shown("key" + i), dismissed("key" + i, Snackbar.Callback.DISMISS_EVENT_SWIPE, 400));
+    }
+
+    SnackbarStatistics.Snapshot snapshot = statistics.snapshot();
+
+    assertThat(snapshot.getMessageKeys()).hasSize(SnackbarStatistics.MAX_MESSAGE_KEYS);
+    assertThat(snapshot.getShownCount()).isEqualTo(keyCount);
+    assertThat(snapshot.getShownCount("key0")).isEqualTo(1);
+    assertThat(snapshot.getShownCount("key" + (keyCount - 1))).isEqualTo(0);
+    assertThat(snapshot.getShownCount(SnackbarStatistics.OTHER_MESSAGE_KEY))
+        .isEqualTo(keyCount - (SnackbarStatistics.MAX_MESSAGE_KEYS - 1));
+    assertThat(snapshot.getVisibleDurationHistogram(SnackbarStatistics.OTHER_MESSAGE_KEY)[0])
+        .isEqualTo(keyCount - (SnackbarStatistics.MAX_MESSAGE_KEYS - 1));
+  }
+
+  @Test
+  public void givenBoundary_whenBucketOf_thenBoundaryIncludedInBucket() {
+    assertThat(SnackbarStatistics.bucketOf(500)).isEqualTo(0);
+    assertThat(SnackbarStatistics.bucketOf(501)).isEqualTo(1);
+    assertThat(SnackbarStatistics.getBucketUpperBoundMillis(SnackbarStatistics.BUCKET_COUNT - 1))
+        .isEqualTo(Long.MAX_VALUE);
+  }
+
+  private void record(SnackbarEvent... events) {
+    statistics.onSnackbarEvents(Arrays.asList(events));
+  }
+
+  private static SnackbarEvent shown(String key) {
+    return new SnackbarEvent(SnackbarEvent.TYPE_SHOWN, SnackbarEvent.NO_DISMISS_EVENT, key, 1000, 1000);
+  }
+
+  private static SnackbarEvent dismissed(String key, int dismissEvent, long durationMillis) {
+    return new SnackbarEvent(SnackbarEvent.TYPE_DISMISSED, dismissEvent, key, 1000, 1000 + durationMillis);
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.progress;
+
+import android.view.ViewGroup;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarWrapper;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class ProgressSnackbarTest {
+
+  private SnackbarWrapper wrapper;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    wrapper = new SnackbarBuilder(parent)
+        .message("Uploading")
+        .buildWrapper();
+  }
+
+  @After
+  public void after() {
+    Robolectric.getForegroundThreadScheduler().unPause();
+  }
+
+  @Test
+  public void givenBarMode_whenCreated_thenProgressBarAddedAfterMessage() {
+    ProgressSnackbar progress = new ProgressSnackbar(wrapper, ProgressSnackbar.MODE_BAR);
+
+    TextView messageView = (TextView) wrapper.getView().findViewById(R.id.snackbar_text);
+    ViewGroup content = (ViewGroup) messageView.getParent();
+    assertThat(progress.getProgressView()).isInstanceOf(ProgressBar.class);
+    assertThat(content.indexOfChild(progress.getProgressView())).isEqualTo(content.indexOfChild(messageView) + 1);
+  }
+
+  @Test
+  public void givenPercentageMode_whenCreated_thenZeroPercentShown() {
+    ProgressSnackbar progress = new ProgressSnackbar(wrapper, ProgressSnackbar.MODE_PERCENTAGE);
+
+    assertThat(((TextView) progress.getProgressView()).getText().toString()).isEqualTo("0%");
+  }
+
+  @Test
+  public void givenPercentageMode_whenProgressSet_thenPercentageShownAfterUpdate() {
+    ProgressSnackbar progress = new ProgressSnackbar(wrapper, ProgressSnackbar.MODE_PERCENTAGE, 200);
+
+    progress.setProgress(84);
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(((TextView) progress.getProgressView()).getText().toString()).isEqualTo("42%");
+  }
+
+  @Test
+  public void givenBarMode_whenProgressSetManyTimes_thenSingleUpdateScheduledWithLatest() {
+    ProgressSnackbar progress = new ProgressSnackbar(wrapper, ProgressSnackbar.MODE_BAR);
+    Robolectric.getForegroundThreadScheduler().pause();
+
+    for (int i = 0; i <= 60; i++) {
+      progress.setProgress(i);
+    }
+
+    assertThat(Robolectric.getForegroundThreadScheduler().size()).isEqualTo(1);
+    Robolectric.flushForegroundThreadScheduler();
+    assertThat(((ProgressBar) progress.getProgressView()).getProgress()).isEqualTo(60);
+  }
+
+  @Test
+  public void whenProgressOutOfRange_thenClamped() {
+    ProgressSnackbar progress = new ProgressSnackbar(wrapper, ProgressSnackbar.MODE_BAR);
+
+    progress.setProgress(150);
+    assertThat(progress.getProgress()).isEqualTo(100);
+
+    progress.setProgress(-5);
+    assertThat(progress.getProgress()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenNonPositiveMax_whenCreated_thenThrows() {
+    new ProgressSnackbar(wrapper, ProgressSnackbar.MODE_BAR, 0);
+  }
+
+  @Test
+  public void whenFormatPercentage_thenDigitsAndPercentSignWritten() {
+    char[] text = new char[4];
+
+    assertThat(new String(text, 0, ProgressSnackbar.formatPercentage(7, text))).isEqualTo("7%");
+    assertThat(new String(text, 0, ProgressSnackbar.formatPercentage(42, text))).isEqualTo("42%");
+    assertThat(new String(text, 0, ProgressSnackbar.formatPercentage(100, text))).isEqualTo("100%");
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.text;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.graphics.drawable.ColorDrawable;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.ImageSpan;
+import android.text.style.StyleSpan;
+import android.text.style.UnderlineSpan;
+
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class MessageTemplateTest {
+
+  @Test
+  public void givenSameTemplate_whenGet_thenParsedOnce() {
+    MessageTemplate template = MessageTemplate.get("Sent to %s");
+
+    assertThat(MessageTemplate.get("Sent to %s")).isSameAs(template);
+  }
+
+  @Test
+  public void whenFormat_thenPlaceholdersFilledInOrder() {
+    CharSequence message = MessageTemplate.get("Sent to %s - %d failed, 100%%").format("Bob", 3);
+
+    assertThat(message.toString()).isEqualTo("Sent to Bob - 3 failed, 100%");
+  }
+
+  @Test
+  public void whenFormat_thenTagsBecomeSpansOverTheirText() {
+    Spanned message = (Spanned) MessageTemplate.get("{b}%s{/b} {u}un{/u} {color=red}%d{/color}")
+        .format("bold", 42);
+
+    assertSpan(message, StyleSpan.class, "bold");
+    assertThat(message.getSpans(0, 4, StyleSpan.class)[0].getStyle()).isEqualTo(Typeface.BOLD);
+    assertSpan(message, UnderlineSpan.class, "un");
+    assertSpan(message, ForegroundColorSpan.class, "42");
+    assertThat(message.getSpans(0, message.length(), ForegroundColorSpan.class)[0].getForegroundColor())
+        .isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void givenItalicTag_whenFormat_thenItalicSpanApplied() {
+    Spanned message = (Spanned) MessageTemplate.get("{i}%s{/i}!").format("it");
+
+    assertSpan(message, StyleSpan.class, "it");
+    assertThat(message.getSpans(0, 2, StyleSpan.class)[0].getStyle()).isEqualTo(Typeface.ITALIC);
+  }
+
+  @Test
+  public void givenNestedTags_whenFormat_thenBothSpansApplied() {
+    Spanned message = (Spanned) MessageTemplate.get("a {b}b {color=#00FF00}c{/color}{/b}").format();
+
+    assertSpan(message, StyleSpan.class, "b c");
+    assertSpan(message, ForegroundColorSpan.class, "c");
+  }
+
+  @Test
+  public void givenIcon_whenFormat_thenImageSpanAdded() {
+    ColorDrawable icon = new ColorDrawable(Color.BLUE);
+
+    Spanned message = (Spanned) MessageTemplate.get("{icon} Sent").format(icon);
+
+    ImageSpan[] spans = message.getSpans(0, message.length(), ImageSpan.class);
+    assertThat(spans).hasSize(1);
+    assertThat(spans[0].getDrawable()).isSameAs(icon);
+    assertThat(message.toString()).endsWith(" Sent");
+  }
+
+  @Test
+  public void givenLiteralBrace_whenFormat_thenBraceKept() {
+    assertThat(MessageTemplate.get("{{b} %s").format("x").toString()).isEqualTo("{b} x");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenUnclosedTag_whenGet_thenThrows() {
+    MessageTemplate.get("{b}bold");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenMismatchedTag_whenGet_thenThrows() {
+    MessageTemplate.get("{b}bold{/i}");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenUnknownTag_whenGet_thenThrows() {
+    MessageTemplate.get("{blink}text{/blink}");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenWrongArgumentCount_whenFormat_thenThrows() {
+    MessageTemplate.get("%s and %s").format("one");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenNonNumber_whenFormatNumber_thenThrows() {
+    MessageTemplate.get("%d").format("one");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenDouble_whenFormatNumber_thenThrows() {
+    MessageTemplate.get("%d").format(2.5);
+  }
+
+  @Test
+  public void givenIntegralNumbers_whenFormatNumber_thenNumbersFilledIn() {
+    CharSequence message = MessageTemplate.get("%d %d %d")
+        .format((short) 1, 2L, new BigInteger("12345678901234567890"));
+
+    assertThat(message.toString()).isEqualTo("1 2 12345678901234567890");
+  }
+
+  private static void assertSpan(Spanned message, Class<?> type, String text) {
+    Object[] spans = message.getSpans(0, message.length(), type);
+    assertThat(spans).hasSize(1);
+    int start = message.getSpanStart(spans[0]);
+    int end = message.getSpanEnd(spans[0]);
+    assertThat(message.subSequence(start, end).toString()).isEqualTo(text);
+  }
+
+}
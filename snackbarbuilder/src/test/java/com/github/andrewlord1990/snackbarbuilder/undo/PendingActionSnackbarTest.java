@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.SnackbarBuilder;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class PendingActionSnackbarTest {
+
+  private CoordinatorLayout parent;
+  private QueueingExecutor executor;
+  private RecordingCommitter committer;
+  private PendingActionSnackbar<String> pendingActions;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    executor = new QueueingExecutor();
+    committer = new RecordingCommitter();
+    pendingActions = new PendingActionSnackbar<>(executor, committer);
+  }
+
+  @Test
+  public void whenShown_thenActionPendingAndNotCommitted() {
+    show("first");
+
+    assertThat(pendingActions.getPendingCount()).isEqualTo(1);
+    assertThat(executor.tasks).isEmpty();
+  }
+
+  @Test
+  public void givenShown_whenTimedOut_thenActionCommittedOnExecutor() {
+    show("first");
+
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+
+    assertThat(committer.committed).isEmpty();
+    executor.runAll();
+    assertThat(committer.committed).hasSize(1);
+    assertThat(committer.committed.get(0)).containsExactly("first");
+    assertThat(pendingActions.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenShown_whenActionPressed_thenActionDropped() {
+    show("first");
+
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_ACTION);
+    executor.runAll();
+
+    assertThat(executor.tasks).isEmpty();
+    assertThat(committer.committed).isEmpty();
+    assertThat(pendingActions.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenSeveralDismissedBeforeCommitRuns_thenCommittedInOneBatchInDismissOrder() {
+    show("first");
+    show("second");
+    show("third");
+
+    dismiss(1, Snackbar.Callback.DISMISS_EVENT_SWIPE);
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+
+    assertThat(executor.tasks).hasSize(1);
+    executor.runAll();
+    assertThat(committer.committed).hasSize(1);
+    assertThat(committer.committed.get(0)).containsExactly("second", "first", "third");
+  }
+
+  @Test
+  public void givenCommitFinished_whenAnotherDismissed_thenCommittedInNewBatch() {
+    show("first");
+    show("second");
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    assertThat(committer.committed).hasSize(2);
+    assertThat(committer.committed.get(1)).containsExactly("second");
+  }
+
+  @Test
+  public void givenShown_whenFlush_thenAllCommittedOnceEvenWhenDismissed() {
+    show("first");
+    show("second");
+    List<PendingActionSnackbar<String>.Pending> pending = new ArrayList<>(pendingActions.showing);
+
+    pendingActions.flush();
+    pending.get(0).onDismissed(pending.get(0).wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_MANUAL);
+    executor.runAll();
+
+    assertThat(pendingActions.getPendingCount()).isEqualTo(0);
+    assertThat(committer.committed).hasSize(1);
+    assertThat(committer.committed.get(0)).containsExactly("first", "second");
+  }
+
+  @Test
+  public void givenBuilderReused_whenLaterSnackbarDismissed_thenOnlyItsActionCommitted() {
+    SnackbarBuilder builder = SnackbarBuilder.withoutTheme(parent).message("deleted");
+    pendingActions.show(builder, "first");
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_ACTION);
+
+    pendingActions.show(builder, "second");
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    assertThat(committer.committed).hasSize(1);
+    assertThat(committer.committed.get(0)).containsExactly("second");
+  }
+
+  @Test
+  public void givenCommitThrows_whenAnotherDismissed_thenStillCommitted() {
+    pendingActions = new PendingActionSnackbar<>(executor, new PendingActionSnackbar.Committer<String>() {
+      @Override
+      public void commit(@NonNull List<String> actions) {
+        if (actions.contains("first")) {
+          throw new IllegalStateException("Commit failed");
+        }
+        committer.commit(actions);
+      }
+    });
+    show("first");
+    show("second");
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    try {
+      executor.runAll();
+    } catch (IllegalStateException ignored) {
+      // The failure reaches the executor
+    }
+
+    dismiss(0, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    executor.runAll();
+
+    assertThat(committer.committed).hasSize(1);
+    assertThat(committer.committed.get(0)).containsExactly("second");
+  }
+
+  private void show(String action) {
+    pendingActions.show(SnackbarBuilder.withoutTheme(parent).message(action), action);
+  }
+
+  private void dismiss(int index, int dismissEvent) {
+    PendingActionSnackbar<String>.Pending pending = pendingActions.showing.get(index);
+    pending.onDismissed(pending.wrapper.getSnackbar(), dismissEvent);
+  }
+
+  private static class QueueingExecutor implements Executor {
+
+    final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      tasks.add(command);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+
+  private static class RecordingCommitter implements PendingActionSnackbar.Committer<String> {
+
+    final List<List<String>> committed = new ArrayList<>();
+
+    @Override
+    public void commit(@NonNull List<String> actions) {
+      committed.add(new ArrayList<>(actions));
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2016 Andrew Lord
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License.
+ *
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.andrewlord1990.snackbarbuilder.undo;
+
+import com.github.andrewlord1990.snackbarbuilder.R;
+import com.github.andrewlord1990.snackbarbuilder.robolectric.LibraryRobolectricTestRunner;
+import com.google.android.material.snackbar.Snackbar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LibraryRobolectricTestRunner.class)
+public class UndoBatcherTest {
+
+  private RecordingListener listener;
+  private UndoBatcher<String> batcher;
+
+  @Before
+  public void before() {
+    RuntimeEnvironment.application.setTheme(R.style.TestSnackbarBuilder_AppTheme);
+    CoordinatorLayout parent = new CoordinatorLayout(RuntimeEnvironment.application);
+    listener = new RecordingListener();
+    batcher = new UndoBatcher<>(parent, listener);
+  }
+
+  @Test
+  public void givenSeveralItems_whenAdded_thenSingleSnackbarShowsCount() {
+    batcher.add("first");
+    batcher.add("second");
+    batcher.add("third");
+
+    assertThat(batcher.getPendingCount()).isEqualTo(3);
+    assertThat(batcher.current.wrapper.getText().toString()).isEqualTo("3 items deleted");
+  }
+
+  @Test
+  public void givenItems_whenTimedOut_thenBatchCommittedTogether() {
+    batcher.add("first");
+    batcher.add("second");
+
+    dismiss(Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+
+    assertThat(listener.committed).hasSize(1);
+    assertThat(listener.committed.get(0)).containsExactly("first", "second");
+    assertThat(listener.undone).isEmpty();
+    assertThat(batcher.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenItems_whenSwiped_thenBatchCommitted() {
+    batcher.add("first");
+
+    dismiss(Snackbar.Callback.DISMISS_EVENT_SWIPE);
+
+    assertThat(listener.committed).hasSize(1);
+  }
+
+  @Test
+  public void givenItems_whenActionPressed_thenBatchRolledBack() {
+    batcher.add("first");
+    batcher.add("second");
+
+    dismiss(Snackbar.Callback.DISMISS_EVENT_ACTION);
+
+    assertThat(listener.undone).hasSize(1);
+    assertThat(listener.undone.get(0)).containsExactly("first", "second");
+    assertThat(listener.committed).isEmpty();
+  }
+
+  @Test
+  public void givenItems_whenCommit_thenCommittedOnceEvenWhenDismissed() {
+    batcher.add("first");
+    UndoBatcher<String>.Batch batch = batcher.current;
+
+    batcher.commit();
+    batch.onDismissed(batch.wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_MANUAL);
+
+    assertThat(listener.committed).hasSize(1);
+    assertThat(batcher.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void givenBatchFinished_whenAdd_thenNewBatchStarted() {
+    batcher.add("first");
+    dismiss(Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+
+    batcher.add("second");
+
+    assertThat(batcher.getPendingCount()).isEqualTo(1);
+    assertThat(batcher.current.wrapper.getText().toString()).isEqualTo("1 item deleted");
+  }
+
+  @Test
+  public void givenTimedOutButNotYetDismissed_whenAdd_thenNewBatchStarted() {
+    batcher.add("first");
+    UndoBatcher<String>.Batch closing = batcher.current;
+    closing.onShown(closing.wrapper.getSnackbar());
+    ShadowSystemClock.sleep(closing.wrapper.getRemainingMillis() + 1);
+
+    batcher.add("second");
+    closing.onDismissed(closing.wrapper.getSnackbar(), Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+
+    assertThat(batcher.current).isNotSameAs(closing);
+    assertThat(listener.committed).hasSize(1);
+    assertThat(listener.committed.get(0)).containsExactly("first");
+    assertThat(batcher.getPendingCount()).isEqualTo(1);
+    assertThat(batcher.current.wrapper.getText().toString()).isEqualTo("1 item deleted");
+  }
+
+  @Test
+  public void givenShownAndNotTimedOut_whenAdd_thenAddedToSameBatch() {
+    batcher.add("first");
+    UndoBatcher<String>.Batch batch = batcher.current;
+    batch.onShown(batch.wrapper.getSnackbar());
+
+    batcher.add("second");
+
+    assertThat(batcher.current).isSameAs(batch);
+    assertThat(batcher.getPendingCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void givenActionPressedButNotYetDismissed_whenAdd_thenNewBatchStarted() {
+    batcher.add("first");
+    UndoBatcher<String>.Batch closing = batcher.current;
+    closing.wrapper.getView().findViewById(R.id.snackbar_action).performClick();
+
+    batcher.add("second");
+
+    assertThat(batcher.current).isNotSameAs(closing);
+  }
+
+  private void dismiss(int dismissEvent) {
+    batcher.current.onDismissed(batcher.current.wrapper.getSnackbar(), dismissEvent);
+  }
+
+  private static class RecordingListener implements UndoBatcher.Listener<String> {
+
+    final List<List<String>> committed = new ArrayList<>();
+    final List<List<String>> undone = new ArrayList<>();
+
+    @Override
+    public void onCommit(@NonNull List<String> items) {
+      committed.add(new ArrayList<>(items));
+    }
+
+    @Override
+    public void onUndo(@NonNull List<String> items) {
+      undone.add(new ArrayList<>(items));
+    }
+  }
+
+}